@@ -5,6 +5,8 @@ import com.TaskPrioritizationAPI.models.Task;
 import com.TaskPrioritizationAPI.repositories.TaskRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
@@ -12,6 +14,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "task.seed.enabled", havingValue = "true", matchIfMissing = true)
 public class DataBaseSeeder implements CommandLineRunner {
 
         @Autowired
@@ -0,0 +1,196 @@
+package com.TaskPrioritizationAPI.cache;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.payload.response.TaskFilterPageResponse;
+import com.TaskPrioritizationAPI.replicas.ReplicaContext;
+import com.TaskPrioritizationAPI.repositories.specifications.TaskFilterCriteria;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, TTL-evicted read-through cache for task lookups by id and for filter pages and counts.
+ * Filter entries are keyed by a generation of their (completed, priority) bucket; a write bumps only the buckets the
+ * task was or is in, which makes their entries unreachable in O(1) and leaves them to size and TTL eviction.
+ * Readers take the generation (or, for an id, an eviction token) before they query and store the result under it,
+ * so a result read before a concurrent write is never stored where later reads would find it.
+ * Requests that may read from a replica are served from the cache but never fill it: a lagging replica could
+ * put back a row a write just evicted, and a client pinned to the primary would then read it from here.
+ */
+@Component
+public class TaskCache implements MeterBinder {
+
+    private static final int ID_STRIPES = 1024;
+
+    // DTO snapshots rather than entities, so nothing a caller does to a returned task can change the cached copy.
+    private final Cache<Long, TaskDTO> tasksById;
+    private final Cache<PageKey, TaskFilterPageResponse> filterPages;
+    private final Cache<CountKey, Long> filterCounts;
+    private final ConcurrentMap<Bucket, AtomicLong> generations = new ConcurrentHashMap<>();
+    // Evictions per id stripe; striped so it stays bounded, at the cost of an occasional skipped put.
+    private final AtomicLongArray idEvictions = new AtomicLongArray(ID_STRIPES);
+
+    public TaskCache(@Value("${task.cache.max-size:10000}") long maxSize,
+                     @Value("${task.cache.ttl:30s}") Duration ttl) {
+        this.tasksById = newCache(maxSize, ttl);
+        this.filterPages = newCache(maxSize, ttl);
+        this.filterCounts = newCache(maxSize, ttl);
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, tasksById, "tasksById");
+        CaffeineCacheMetrics.monitor(registry, filterPages, "filterPages");
+        CaffeineCacheMetrics.monitor(registry, filterCounts, "filterCounts");
+    }
+
+    public TaskDTO getTask(Long id) {
+        return tasksById.getIfPresent(id);
+    }
+
+    /** Taken before the task is read; {@link #putTask} drops the task if the id was evicted since. */
+    public long taskToken(Long id) {
+        return idEvictions.get(stripe(id));
+    }
+
+    public void putTask(TaskDTO task, long token) {
+        if (ReplicaContext.isReplicaReadAllowed()) {
+            return;
+        }
+        int stripe = stripe(task.getId());
+        if (idEvictions.get(stripe) != token) {
+            return;
+        }
+        tasksById.put(task.getId(), task);
+        // An eviction between the check and the put ran before the put could be undone by it; undo the put instead.
+        if (idEvictions.get(stripe) != token) {
+            tasksById.invalidate(task.getId());
+        }
+    }
+
+    /** Taken before the filter query runs; pass it to {@link #putFilterPage} and {@link #putFilterCount}. */
+    public long filterGeneration(TaskFilterCriteria criteria) {
+        return generation(criteria);
+    }
+
+    public TaskFilterPageResponse getFilterPage(TaskFilterCriteria criteria, int page, int size) {
+        return filterPages.getIfPresent(new PageKey(criteria, generation(criteria), page, size));
+    }
+
+    public void putFilterPage(TaskFilterCriteria criteria, long generation, int page, int size, TaskFilterPageResponse response) {
+        if (ReplicaContext.isReplicaReadAllowed()) {
+            return;
+        }
+        filterPages.put(new PageKey(criteria, generation, page, size), response);
+    }
+
+    public Long getFilterCount(TaskFilterCriteria criteria) {
+        return filterCounts.getIfPresent(new CountKey(criteria, generation(criteria)));
+    }
+
+    public void putFilterCount(TaskFilterCriteria criteria, long generation, long count) {
+        if (ReplicaContext.isReplicaReadAllowed()) {
+            return;
+        }
+        filterCounts.put(new CountKey(criteria, generation), count);
+    }
+
+    public void evictTask(Long id) {
+        idEvictions.incrementAndGet(stripe(id));
+        tasksById.invalidate(id);
+    }
+
+    public void evictTasks(Collection<Long> ids) {
+        ids.forEach(this::evictTask);
+    }
+
+    private static int stripe(Long id) {
+        return Math.floorMod(Long.hashCode(id), ID_STRIPES);
+    }
+
+    /** Evicts the id and every filter bucket that any of the given task states belongs to. */
+    public void evict(Long id, TaskDTO... states) {
+        evictTask(id);
+        for (TaskDTO state : states) {
+            // A criteria with a null dimension matches any value, so its bucket is affected too.
+            for (Boolean completed : new Boolean[]{null, state.getIsCompleted()}) {
+                bump(completed, null);
+                bump(completed, state.getPriority());
+            }
+        }
+    }
+
+    /** Evicts filter entries that can contain tasks of the given priority. */
+    public void evictPriority(Priority priority) {
+        for (Boolean completed : new Boolean[]{null, true, false}) {
+            bump(completed, null);
+            bump(completed, priority);
+        }
+    }
+
+    private long generation(TaskFilterCriteria criteria) {
+        return counter(criteria.completed(), criteria.priority()).get();
+    }
+
+    private void bump(Boolean completed, Priority priority) {
+        counter(completed, priority).incrementAndGet();
+    }
+
+    private AtomicLong counter(Boolean completed, Priority priority) {
+        return generations.computeIfAbsent(new Bucket(completed, priority), bucket -> new AtomicLong());
+    }
+
+    public CacheStats taskStats() {
+        return tasksById.stats();
+    }
+
+    public CacheStats filterPageStats() {
+        return filterPages.stats();
+    }
+
+    public CacheStats filterCountStats() {
+        return filterCounts.stats();
+    }
+
+    public long taskSize() {
+        return tasksById.estimatedSize();
+    }
+
+    public long filterPageSize() {
+        return filterPages.estimatedSize();
+    }
+
+    public long filterCountSize() {
+        return filterCounts.estimatedSize();
+    }
+
+    private record Bucket(Boolean completed, Priority priority) {
+    }
+
+    private record PageKey(TaskFilterCriteria criteria, long generation, int page, int size) {
+    }
+
+    private record CountKey(TaskFilterCriteria criteria, long generation) {
+    }
+}
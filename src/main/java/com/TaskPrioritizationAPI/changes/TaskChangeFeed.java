@@ -0,0 +1,241 @@
+package com.TaskPrioritizationAPI.changes;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.TaskChange;
+import com.TaskPrioritizationAPI.models.TaskChangeType;
+import com.TaskPrioritizationAPI.payload.request.TaskChangeCursor;
+import com.TaskPrioritizationAPI.payload.response.TaskChangeEvent;
+import com.TaskPrioritizationAPI.payload.response.TaskChangesResponse;
+import com.TaskPrioritizationAPI.repositories.TaskChangeRepository;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Change feed behind /tasks/changes. Every task write records its changes here inside its own transaction
+ * (a transactional outbox), so a change is in the feed exactly when the write is committed. Readers ask for
+ * the changes after a cursor and may wait for new ones; waiting readers are answered after a local commit
+ * or, for writes through other instances, by the next poll (task.changes.poll-interval).
+ * Seqs are assigned at insert but become visible at commit, so a hole in the seqs is not passed until its
+ * change commits or the hole has been seen for task.changes.gap-timeout, which is taken to mean it was
+ * rolled back. The wait is timed from when this instance first saw the hole, not from changed_at, which is
+ * the insert time on the writer's clock. A transaction that records changes must therefore commit within
+ * gap-timeout of a later change becoming visible, or readers pass its changes by for good.
+ */
+@Component
+@Profile("!reactive")
+public class TaskChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeFeed.class);
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private TaskChangeRepository taskChangeRepository;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${task.changes.gap-timeout:5s}")
+    private Duration gapTimeout;
+
+    @Value("${task.changes.max-wait:30s}")
+    private Duration maxWait;
+
+    @Value("${task.changes.retention:7d}")
+    private Duration retention;
+
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    // When each hole in the seqs was first seen; kept for the retention so old holes are passed at once.
+    private final Map<Gap, Instant> gapsSeenAt = new ConcurrentHashMap<>();
+    private final AtomicBoolean deliveryRequested = new AtomicBoolean();
+    private ExecutorService notifier;
+
+    @PostConstruct
+    public void start() {
+        notifier = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        notifier.shutdownNow();
+    }
+
+    public void record(TaskChangeType type, TaskDTO task) {
+        recordAll(type, List.of(task));
+    }
+
+    /** Appends the changes to the outbox of the current shard. Must run inside the transaction that makes them. */
+    public void recordAll(TaskChangeType type, Collection<TaskDTO> tasks) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Task changes must be recorded in the transaction that makes them.");
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<TaskChange> changes = new ArrayList<>(tasks.size());
+        for (TaskDTO task : tasks) {
+            changes.add(new TaskChange(null, task.getId(), type, toJson(task), now));
+        }
+        taskChangeRepository.append(changes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                requestDelivery();
+            }
+        });
+    }
+
+    /** Up to limit changes after since, oldest first, and the cursor to continue from. */
+    public TaskChangesResponse read(String since, Integer limit) {
+        int max = (limit == null) ? DEFAULT_LIMIT : limit;
+        if (max < 1 || max > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        TaskChangeCursor cursor = TaskChangeCursor.decode(since, taskShards.count());
+        Instant now = Instant.now();
+        List<TaskChangeEvent> events = new ArrayList<>();
+        for (int shard = 0; shard < taskShards.count() && events.size() < max; shard++) {
+            long position = cursor.position(shard);
+            int remaining = max - events.size();
+            List<TaskChange> found = taskShards.onShard(shard,
+                    () -> taskChangeRepository.findAfter(position, PageRequest.of(0, remaining)));
+            long next = position;
+            for (TaskChange change : found) {
+                // A hole may be a transaction that has not committed yet.
+                if (change.getSeq() != next + 1) {
+                    Instant seenAt = gapsSeenAt.computeIfAbsent(new Gap(shard, next + 1), gap -> now);
+                    if (seenAt.plus(gapTimeout).isAfter(now)) {
+                        break;
+                    }
+                }
+                events.add(toEvent(change));
+                next = change.getSeq();
+            }
+            cursor = cursor.withPosition(shard, next);
+        }
+        return new TaskChangesResponse(events, cursor.encode());
+    }
+
+    /**
+     * Like {@link #read}, but when there are no changes yet the result is held for up to wait for one to
+     * arrive (long poll). A wait that runs out answers with no changes and the unchanged cursor.
+     */
+    public DeferredResult<TaskChangesResponse> poll(String since, Integer limit, Duration wait) {
+        if (wait.isNegative() || wait.compareTo(maxWait) > 0) {
+            throw new IllegalArgumentException("Wait must be between 0 and " + maxWait.toSeconds() + " seconds.");
+        }
+        TaskChangesResponse current = read(since, limit);
+        if (!current.changes().isEmpty() || wait.isZero()) {
+            DeferredResult<TaskChangesResponse> result = new DeferredResult<>();
+            result.setResult(current);
+            return result;
+        }
+        DeferredResult<TaskChangesResponse> result = new DeferredResult<>(wait.toMillis(), () -> current);
+        Waiter waiter = new Waiter(current.next(), limit, result);
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        return result;
+    }
+
+    // Picks up changes committed through other instances, and waiters that registered just after a delivery.
+    @Scheduled(fixedDelayString = "${task.changes.poll-interval:PT1S}")
+    public void requestDelivery() {
+        if (!waiters.isEmpty() && !notifier.isShutdown() && deliveryRequested.compareAndSet(false, true)) {
+            notifier.execute(this::deliver);
+        }
+    }
+
+    @Scheduled(cron = "${task.changes.prune-cron:0 20 0 * * *}")
+    public void prune() {
+        Instant before = Instant.now().minus(retention);
+        gapsSeenAt.values().removeIf(seenAt -> seenAt.isBefore(before));
+        for (int shard = 0; shard < taskShards.count(); shard++) {
+            Integer pruned = taskShards.onShard(shard,
+                    () -> transactionTemplate.execute(status -> taskChangeRepository.deleteChangedBefore(before)));
+            log.info("Pruned {} task change(s) older than {} from shard {}", pruned, retention, shard);
+        }
+    }
+
+    private void deliver() {
+        deliveryRequested.set(false);
+        // Readers at the same cursor share one read.
+        Map<String, TaskChangesResponse> reads = new HashMap<>();
+        for (Waiter waiter : waiters) {
+            if (waiter.result().isSetOrExpired()) {
+                waiters.remove(waiter);
+                continue;
+            }
+            try {
+                TaskChangesResponse changes = reads.computeIfAbsent(waiter.since() + "|" + waiter.limit(),
+                        key -> read(waiter.since(), waiter.limit()));
+                if (!changes.changes().isEmpty()) {
+                    waiter.result().setResult(changes);
+                }
+            } catch (RuntimeException e) {
+                waiter.result().setErrorResult(e);
+            }
+        }
+    }
+
+    private TaskChangeEvent toEvent(TaskChange change) {
+        try {
+            TaskDTO task = (change.getPayload() == null) ? null : objectMapper.readValue(change.getPayload(), TaskDTO.class);
+            return new TaskChangeEvent(change.getSeq(), change.getTaskId(), change.getType(), task, change.getChangedAt());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload in task change " + change.getSeq(), e);
+        }
+    }
+
+    private String toJson(TaskDTO task) {
+        try {
+            return objectMapper.writeValueAsString(task);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task " + task.getId(), e);
+        }
+    }
+
+    private record Gap(int shard, long seq) {
+    }
+
+    private record Waiter(String since, Integer limit, DeferredResult<TaskChangesResponse> result) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.TaskPrioritizationAPI.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Binary responses for high-volume clients: Accept: application/cbor or application/x-jackson-smile.
+ * Both carry dates as epoch days, enums such as Priority as ordinals and leave out null fields.
+ * Smile also writes each field name only once per response, which makes it the smaller of the two
+ * for long task lists.
+ */
+@Configuration
+@Profile("!reactive")
+public class CompactFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(compact(builder.factory(new CBORFactory()).build()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(compact(builder.factory(new SmileFactory()).build()));
+    }
+
+    public static ObjectMapper compact(ObjectMapper mapper) {
+        SimpleModule epochDays = new SimpleModule("EpochDays")
+                .addSerializer(LocalDate.class, new EpochDaySerializer())
+                .addDeserializer(LocalDate.class, new EpochDayDeserializer());
+        return mapper.registerModule(epochDays)
+                .enable(SerializationFeature.WRITE_ENUMS_USING_INDEX)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    private static class EpochDaySerializer extends StdSerializer<LocalDate> {
+
+        EpochDaySerializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public void serialize(LocalDate value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(value.toEpochDay());
+        }
+    }
+
+    // Also accepts ISO strings, so requests can be written either way.
+    private static class EpochDayDeserializer extends StdDeserializer<LocalDate> {
+
+        EpochDayDeserializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public LocalDate deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return LocalDate.ofEpochDay(parser.getLongValue());
+            }
+            return LocalDate.parse(parser.getValueAsString());
+        }
+    }
+}
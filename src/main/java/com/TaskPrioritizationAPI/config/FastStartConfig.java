@@ -0,0 +1,25 @@
+package com.TaskPrioritizationAPI.config;
+
+import com.TaskPrioritizationAPI.jobs.TaskArchivalJob;
+import com.TaskPrioritizationAPI.jobs.TaskReprioritizationJob;
+import com.TaskPrioritizationAPI.services.impl.TaskWriteBehindQueue;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import com.TaskPrioritizationAPI.stats.TaskStatistics;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * With spring.main.lazy-initialization=true (prod profile) a bean is only created when something asks
+ * for it. These have to exist from the start: their scheduled work or startup replay would otherwise
+ * never run, and TaskShards has to set the shard count before the first query is routed.
+ */
+@Configuration
+public class FastStartConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerTaskBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(TaskReprioritizationJob.class, TaskArchivalJob.class,
+                TaskStatistics.class, TaskWriteBehindQueue.class, TaskShards.class);
+    }
+}
@@ -0,0 +1,18 @@
+package com.TaskPrioritizationAPI.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    // Tomcat is on the classpath for the servlet mode and would otherwise be picked for WebFlux too;
+    // serve the reactive mode from Netty's event loop instead.
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
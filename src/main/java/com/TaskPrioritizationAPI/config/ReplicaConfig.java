@@ -0,0 +1,59 @@
+package com.TaskPrioritizationAPI.config;
+
+import com.TaskPrioritizationAPI.replicas.ReplicaProperties;
+import com.TaskPrioritizationAPI.replicas.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opt-in (task.replicas.enabled=true): reads of GET requests go to the replicas in
+ * task.replicas.replicas[n].url/username/password, everything else to spring.datasource.
+ * With sharding, {@link ShardingConfig} sets up the replicas of every shard instead.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaConfig {
+
+    @Bean
+    @Profile("!reactive")
+    @ConditionalOnExpression("${task.replicas.enabled:false} and !${task.sharding.enabled:false}")
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaProperties replicaProperties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return new LazyConnectionDataSourceProxy(withReplicas(primary, replicaProperties.getReplicas(), replicaProperties, "replica"));
+    }
+
+    static DataSource withReplicas(DataSource primary, List<ReplicaProperties.Replica> replicas,
+                                   ReplicaProperties replicaProperties, String poolPrefix) {
+        if (replicas.isEmpty()) {
+            return primary;
+        }
+        List<DataSource> pools = new ArrayList<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaProperties.Replica replica = replicas.get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            pool.setPoolName(poolPrefix + "-" + i);
+            pool.setReadOnly(true);
+            // Fail fast, so a dead replica falls back to the primary instead of holding the request.
+            pool.setConnectionTimeout(replicaProperties.getConnectionTimeout().toMillis());
+            pools.add(pool);
+        }
+        return new ReplicaRoutingDataSource(primary, pools, replicaProperties.getSelection(), replicaProperties.getRetryAfter());
+    }
+}
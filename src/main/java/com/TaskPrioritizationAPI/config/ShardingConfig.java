@@ -0,0 +1,98 @@
+package com.TaskPrioritizationAPI.config;
+
+import com.TaskPrioritizationAPI.models.ArchivedTask;
+import com.TaskPrioritizationAPI.models.IdempotentRequest;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.models.TaskChange;
+import com.TaskPrioritizationAPI.replicas.ReplicaProperties;
+import com.TaskPrioritizationAPI.sharding.ShardingProperties;
+import com.TaskPrioritizationAPI.sharding.TenantRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.tool.hbm2ddl.SchemaUpdate;
+import org.hibernate.tool.schema.TargetType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opt-in (task.sharding.enabled=true): the tasks table is spread over the datasources listed in
+ * task.sharding.shards[n].url/username/password, behind a {@link TenantRoutingDataSource} that replaces
+ * the spring.datasource one. Hibernate only manages the schema of the shard it connects to first,
+ * so the others get the same schema update here.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    @Profile("!reactive")
+    @ConditionalOnProperty(name = "task.sharding.enabled", havingValue = "true")
+    public DataSource dataSource(ShardingProperties shardingProperties, ReplicaProperties replicaProperties,
+                                 JpaProperties jpaProperties, HibernateProperties hibernateProperties) {
+        List<ShardingProperties.Shard> shards = shardingProperties.getShards();
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("task.sharding.enabled is set but no task.sharding.shards are configured.");
+        }
+
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            ShardingProperties.Shard shard = shards.get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            dataSource.setPoolName("shard-" + i);
+            updateSchema(dataSource, jpaProperties, hibernateProperties);
+            targets.put(i, replicaProperties.isEnabled()
+                    ? ReplicaConfig.withReplicas(dataSource, shard.getReplicas(), replicaProperties, "shard-" + i + "-replica")
+                    : dataSource);
+        }
+        TenantRoutingDataSource routingDataSource = new TenantRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(targets.get(0));
+        if (!replicaProperties.isEnabled()) {
+            return routingDataSource;
+        }
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static void updateSchema(DataSource shard, JpaProperties jpaProperties, HibernateProperties hibernateProperties) {
+        String ddlAuto = hibernateProperties.getDdlAuto();
+        if (ddlAuto == null || "none".equals(ddlAuto) || "validate".equals(ddlAuto)) {
+            return;
+        }
+        Map<String, Object> settings = new HashMap<>(
+                hibernateProperties.determineHibernateProperties(jpaProperties.getProperties(), new HibernateSettings()));
+        settings.put(AvailableSettings.DATASOURCE, shard);
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder().applySettings(settings).build();
+        try {
+            Metadata metadata = new MetadataSources(registry).addAnnotatedClass(Task.class)
+                    .addAnnotatedClass(TaskChange.class).addAnnotatedClass(ArchivedTask.class)
+                    .addAnnotatedClass(IdempotentRequest.class).buildMetadata();
+            new SchemaUpdate().execute(EnumSet.of(TargetType.DATABASE), metadata);
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.TaskPrioritizationAPI.config;
+
+import com.TaskPrioritizationAPI.metrics.SqlStatementMetricsInterceptor;
+import com.TaskPrioritizationAPI.ratelimit.RateLimitInterceptor;
+import com.TaskPrioritizationAPI.ratelimit.RateLimitProperties;
+import com.TaskPrioritizationAPI.replicas.ReplicaReadInterceptor;
+import com.TaskPrioritizationAPI.sharding.TenantInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @Autowired
+    private SqlStatementMetricsInterceptor sqlStatementMetricsInterceptor;
+
+    @Autowired
+    private TenantInterceptor tenantInterceptor;
+
+    @Autowired
+    private ReplicaReadInterceptor replicaReadInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // First, so a rejected request does no other work.
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/tasks/**");
+        registry.addInterceptor(tenantInterceptor).addPathPatterns("/tasks/**");
+        registry.addInterceptor(replicaReadInterceptor).addPathPatterns("/tasks/**");
+        registry.addInterceptor(sqlStatementMetricsInterceptor).addPathPatterns("/tasks/**");
+    }
+}
@@ -0,0 +1,30 @@
+package com.TaskPrioritizationAPI.controllers;
+
+import com.TaskPrioritizationAPI.cache.TaskCache;
+import com.TaskPrioritizationAPI.payload.response.CacheStatsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/cache")
+public class CacheController {
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Operation(summary = "Get cache statistics",
+            description = "Hit, miss and eviction counters for the task caches.")
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        return ResponseEntity.ok(List.of(
+                CacheStatsResponse.of("tasksById", taskCache.taskSize(), taskCache.taskStats()),
+                CacheStatsResponse.of("filterPages", taskCache.filterPageSize(), taskCache.filterPageStats()),
+                CacheStatsResponse.of("filterCounts", taskCache.filterCountSize(), taskCache.filterCountStats())));
+    }
+}
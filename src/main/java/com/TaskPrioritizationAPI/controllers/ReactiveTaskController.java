@@ -0,0 +1,130 @@
+package com.TaskPrioritizationAPI.controllers;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.exceptions.TaskNotExistsException;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.payload.request.TaskFilterRequest;
+import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.payload.response.BulkTaskResult;
+import com.TaskPrioritizationAPI.payload.response.TaskFilterPageResponse;
+import com.TaskPrioritizationAPI.services.ReactiveTaskService;
+import com.TaskPrioritizationAPI.utils.ETagUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux twin of {@link TaskController} for the "reactive" profile, with the same paths.
+ * List endpoints write each task as it arrives from the database, as a JSON array or,
+ * with Accept: application/x-ndjson, one task per line.
+ */
+@RestController
+@RequestMapping("/tasks")
+@Profile("reactive")
+public class ReactiveTaskController {
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
+    @Autowired
+    private ReactiveTaskService reactiveTaskService;
+
+    @Operation(summary = "Create a new task",
+            description = "This endpoint allows user to create a new task.")
+    @PostMapping("/create")
+    public Mono<ResponseEntity<TaskDTO>> createTask(@RequestBody TaskRequest taskRequest) {
+        return reactiveTaskService.createTask(taskRequest)
+                .map(taskDTO -> new ResponseEntity<>(taskDTO, HttpStatus.CREATED));
+    }
+
+    @Operation(summary = "Create tasks in bulk",
+            description = "Create many tasks at once from a JSON array or newline-delimited JSON. Returns a result for every item, in input order.")
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON_VALUE})
+    public Flux<BulkTaskResult> createTasks(@RequestBody Flux<TaskRequest> taskRequests) {
+        return reactiveTaskService.createTasks(taskRequests);
+    }
+
+    @Operation(summary = "Stream sorted tasks",
+            description = "Stream tasks sorted by priority or date. Without a limit every task is streamed; a cursor from /tasks/sort resumes after that task.")
+    @GetMapping(value = "/sort", produces = {MediaType.APPLICATION_JSON_VALUE, NDJSON_VALUE})
+    public Flux<TaskDTO> sortTasks(@RequestParam(required = false) String sort,
+                                   @RequestParam(required = false) String cursor,
+                                   @RequestParam(required = false) Integer limit) {
+        return reactiveTaskService.getTasksSorted(sort, cursor, limit);
+    }
+
+    @Operation(summary = "Get next tasks",
+            description = "Retrieve the next open tasks to work on, ordered by priority and then due date.")
+    @GetMapping("/next")
+    public Flux<TaskDTO> nextTasks(@RequestParam(required = false) Integer limit) {
+        return reactiveTaskService.getNextTasks(limit);
+    }
+
+    @Operation(summary = "Filter tasks",
+            description = "Filter tasks by any combination of completion status, priority, due date range and title prefix. Results are paged.")
+    @GetMapping("/filter")
+    public Mono<TaskFilterPageResponse> filterTasks(TaskFilterRequest filterRequest,
+                                                    @RequestParam(required = false) Integer page,
+                                                    @RequestParam(required = false) Integer size) {
+        return reactiveTaskService.getTasksByFilter(filterRequest, page, size);
+    }
+
+    @Operation(summary = "Count filtered tasks",
+            description = "Return only the number of tasks matching the same filters as /tasks/filter.")
+    @GetMapping("/filter/count")
+    public Mono<Long> countFilteredTasks(TaskFilterRequest filterRequest) {
+        return reactiveTaskService.countTasksByFilter(filterRequest);
+    }
+
+    @Operation(summary = "Update an existing task",
+            description = "Update the details of a specific task by its ID. Send If-Match with the task's ETag to update only " +
+                    "if nobody changed it since it was read (412 otherwise). The response carries the new ETag.")
+    @PatchMapping("/update/{id}")
+    public Mono<ResponseEntity<TaskDTO>> updateTask(@PathVariable Long id, @RequestBody TaskDTO taskDTO,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return reactiveTaskService.updateTask(id, taskDTO, ETagUtils.parseIfMatch(ifMatch))
+                .map(taskDto -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .eTag(ETagUtils.of(taskDto.getVersion()))
+                        .body(taskDto));
+    }
+
+    @Operation(summary = "Delete task",
+            description = "Delete a task by its ID.")
+    @DeleteMapping("/delete/{id}")
+    public Mono<ResponseEntity<String>> deleteTask(@PathVariable Long id) {
+        return reactiveTaskService.deleteTask(id)
+                .thenReturn(ResponseEntity.ok("Task deleted successfully"))
+                .onErrorMap(TaskNotExistsException.class, e -> new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage()));
+    }
+
+    @Operation(summary = "Stream all tasks",
+            description = "Stream all tasks with all details, ordered by id.")
+    @GetMapping(value = "/get-all-tasks", produces = {MediaType.APPLICATION_JSON_VALUE, NDJSON_VALUE})
+    public Flux<Task> getAllTasks() {
+        return reactiveTaskService.getAllTasks();
+    }
+
+    @Operation(summary = "Export all tasks",
+            description = "Stream every task as newline-delimited JSON, one task per line.")
+    @GetMapping(value = "/export", produces = NDJSON_VALUE)
+    public Flux<Task> exportTasks() {
+        return reactiveTaskService.getAllTasks();
+    }
+
+    @Operation(summary = "Get task by id",
+            description = "Retrieve а task by id.")
+    @GetMapping("/get-task/{id}")
+    public Mono<ResponseEntity<Task>> getTaskById(@PathVariable Long id) {
+        return reactiveTaskService.getTaskById(id)
+                .map(task -> ResponseEntity.ok()
+                        .eTag(ETagUtils.of(task.getVersion()))
+                        .body(task));
+    }
+}
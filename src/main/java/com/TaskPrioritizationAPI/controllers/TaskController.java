@@ -1,59 +1,153 @@
 package com.TaskPrioritizationAPI.controllers;
 
+import com.TaskPrioritizationAPI.changes.TaskChangeFeed;
 import com.TaskPrioritizationAPI.dtos.TaskDTO;
 import com.TaskPrioritizationAPI.exceptions.TaskNotExistsException;
 import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.payload.request.BulkTaskRequest;
+import com.TaskPrioritizationAPI.payload.request.TaskFilterRequest;
 import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.payload.response.BulkOperationResponse;
+import com.TaskPrioritizationAPI.payload.response.BulkTaskResult;
+import com.TaskPrioritizationAPI.payload.response.TaskChangesResponse;
+import com.TaskPrioritizationAPI.payload.response.TaskFilterPageResponse;
+import com.TaskPrioritizationAPI.payload.response.TaskPageResponse;
+import com.TaskPrioritizationAPI.payload.response.TaskStatsResponse;
 import com.TaskPrioritizationAPI.services.TaskService;
+import com.TaskPrioritizationAPI.utils.ETagUtils;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/tasks")
 public class TaskController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskChangeFeed taskChangeFeed;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Operation(summary = "Create a new task",
-            description = "This endpoint allows user to create a new task.")
+            description = "This endpoint allows user to create a new task. A request repeated with the same Idempotency-Key " +
+                    "gets the task the first one created instead of a duplicate error.")
     @PostMapping("/create")
-    public ResponseEntity<TaskDTO> createTask(@RequestBody TaskRequest taskRequest) {
-        TaskDTO taskDTO = taskService.createTask(taskRequest);
+    public ResponseEntity<TaskDTO> createTask(@RequestBody TaskRequest taskRequest,
+                                              @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        TaskDTO taskDTO = taskService.createTask(taskRequest, idempotencyKey);
         return new ResponseEntity<>(taskDTO, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Create tasks in bulk",
+            description = "Create many tasks at once from a JSON array. Returns a result for every item, in input order.")
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkTaskResult>> createTasks(@RequestBody List<TaskRequest> taskRequests) {
+        List<BulkTaskResult> results = taskService.createTasks(taskRequests.iterator());
+        return ResponseEntity.ok(results);
+    }
+
+    @Operation(summary = "Create tasks in bulk from a stream",
+            description = "Create many tasks at once from newline-delimited JSON, one task request per line.")
+    @PostMapping(value = "/bulk", consumes = NDJSON_VALUE)
+    public ResponseEntity<List<BulkTaskResult>> createTasksFromStream(InputStream body) throws IOException {
+        try (MappingIterator<TaskRequest> taskRequests = objectMapper.readerFor(TaskRequest.class).readValues(body)) {
+            List<BulkTaskResult> results = taskService.createTasks(taskRequests);
+            return ResponseEntity.ok(results);
+        }
+    }
+
     @Operation(summary = "Get sorted tasks",
-            description = "Retrieve all tasks sorted by priority or date.")
+            description = "Retrieve tasks sorted by priority or date, one page at a time. Pass the returned nextCursor to get the following page.")
     @GetMapping("/sort")
-    public ResponseEntity<List<TaskDTO>> sortTasks(@RequestParam(required = false) String sort) {
-        List<TaskDTO> tasks = taskService.getTasksSorted(sort);
+    public ResponseEntity<TaskPageResponse> sortTasks(@RequestParam(required = false) String sort,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer limit) {
+        TaskPageResponse tasks = taskService.getTasksSorted(sort, cursor, limit);
+        return ResponseEntity.ok(tasks);
+    }
+
+    @Operation(summary = "Get next tasks",
+            description = "Retrieve the next open tasks to work on, ordered by priority and then due date.")
+    @GetMapping("/next")
+    public ResponseEntity<List<TaskDTO>> nextTasks(@RequestParam(required = false) Integer limit) {
+        List<TaskDTO> tasks = taskService.getNextTasks(limit);
         return ResponseEntity.ok(tasks);
     }
 
     @Operation(summary = "Filter tasks",
-            description = "Filter tasks by completion status or priority (e.g., completed=true or priority=HIGH).")
+            description = "Filter tasks by any combination of completion status, priority, due date range and title prefix. " +
+                    "The single filter/value form (e.g., filter=priority&value=HIGH) is still accepted. Results are paged.")
     @GetMapping("/filter")
-    public ResponseEntity<List<TaskDTO>> filterTasks(
-            @RequestParam(value = "filter") String filter,
-            @RequestParam(value = "value") String value) {
+    public ResponseEntity<TaskFilterPageResponse> filterTasks(
+            @ParameterObject TaskFilterRequest filterRequest,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
 
-        List<TaskDTO> tasks = taskService.getTasksByFilter(filter, value);
+        TaskFilterPageResponse tasks = taskService.getTasksByFilter(filterRequest, page, size);
         return ResponseEntity.ok(tasks);
     }
 
+    @Operation(summary = "Count filtered tasks",
+            description = "Return only the number of tasks matching the same filters as /tasks/filter.")
+    @GetMapping("/filter/count")
+    public ResponseEntity<Long> countFilteredTasks(@ParameterObject TaskFilterRequest filterRequest) {
+        long count = taskService.countTasksByFilter(filterRequest);
+        return ResponseEntity.ok(count);
+    }
+
+    @Operation(summary = "Search tasks",
+            description = "Full-text search over title and description, best match first. Every word must match; " +
+                    "\"quoted phrases\", prefix* and -excluded words are supported. Combines with priority and completed. Results are paged.")
+    @GetMapping("/search")
+    public ResponseEntity<TaskFilterPageResponse> searchTasks(@RequestParam String q,
+                                                              @RequestParam(required = false) String priority,
+                                                              @RequestParam(required = false) String completed,
+                                                              @RequestParam(required = false) Integer page,
+                                                              @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(taskService.searchTasks(q, priority, completed, page, size));
+    }
+
+    @Operation(summary = "Get task statistics",
+            description = "Number of open and completed tasks per priority and of overdue open tasks, answered from in-memory counters.")
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getTaskStats() {
+        return ResponseEntity.ok(taskService.getTaskStats());
+    }
+
     @Operation(summary = "Update an existing task",
-            description = "Update the details of a specific task by its ID.")
+            description = "Update the details of a specific task by its ID. Send If-Match with the task's ETag to update only " +
+                    "if nobody changed it since it was read (412 otherwise). The response carries the new ETag.")
     @PatchMapping("/update/{id}")
-    public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id, @RequestBody TaskDTO taskDTO) {
-        TaskDTO taskDto = taskService.updateTask(id, taskDTO);
-        return new ResponseEntity<>(taskDto, HttpStatus.ACCEPTED);
+    public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id, @RequestBody TaskDTO taskDTO,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskDTO taskDto = taskService.updateTask(id, taskDTO, ETagUtils.parseIfMatch(ifMatch));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .eTag(ETagUtils.of(taskDto.getVersion()))
+                .body(taskDto);
     }
 
     @Operation(summary = "Delete task",
@@ -68,6 +162,22 @@ public class TaskController {
         }
     }
 
+    @Operation(summary = "Complete tasks in bulk",
+            description = "Mark many tasks as completed (which sets their priority to LOW), given either their ids or a filter " +
+                    "with the fields of /tasks/filter, e.g. {\"filter\": {\"dueTo\": \"2024-06-30\"}}. Returns how many tasks were completed.")
+    @PostMapping("/bulk/complete")
+    public ResponseEntity<BulkOperationResponse> completeTasks(@RequestBody BulkTaskRequest request) {
+        return ResponseEntity.ok(taskService.completeTasks(request));
+    }
+
+    @Operation(summary = "Delete tasks in bulk",
+            description = "Delete many tasks, given either their ids or a filter with the fields of /tasks/filter, " +
+                    "e.g. {\"filter\": {\"completed\": \"true\", \"dueTo\": \"2024-06-30\"}}. Returns how many tasks were deleted.")
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkOperationResponse> deleteTasks(@RequestBody BulkTaskRequest request) {
+        return ResponseEntity.ok(taskService.deleteTasks(request));
+    }
+
     @Operation(summary = "Get all tasks",
             description = "Retrieve all tasks with all details.")
     @GetMapping("/get-all-tasks")
@@ -76,11 +186,43 @@ public class TaskController {
         return ResponseEntity.ok(tasks);
     }
 
+    @Operation(summary = "Export all tasks",
+            description = "Stream every task as newline-delimited JSON, one task per line.")
+    @GetMapping(value = "/export", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        StreamingResponseBody body = taskService::exportTasks;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
+    }
+
+    @Operation(summary = "Get task changes",
+            description = "Changes made to tasks after the since cursor (created, updated, deleted), oldest first, with the task as it is " +
+                    "after the change. Start without since and pass the returned next on the following call. With wait (seconds) " +
+                    "the request is held until a change arrives or the wait runs out.")
+    @GetMapping("/changes")
+    public DeferredResult<TaskChangesResponse> getChanges(@RequestParam(required = false) String since,
+                                                          @RequestParam(required = false) Integer limit,
+                                                          @RequestParam(defaultValue = "0") long wait) {
+        return taskChangeFeed.poll(since, limit, Duration.ofSeconds(wait));
+    }
+
+    @Operation(summary = "Get archived tasks",
+            description = "Completed tasks moved to the archive, ordered by due date, one page at a time. " +
+                    "Pass the returned nextCursor to get the following page.")
+    @GetMapping("/archive")
+    public ResponseEntity<TaskPageResponse> getArchivedTasks(@RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskService.getArchivedTasks(cursor, limit));
+    }
+
     @Operation(summary = "Get task by id",
             description = "Retrieve а task by id.")
     @GetMapping("/get-task/{id}")
     public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
         Task tasks = taskService.getTaskById(id);
-        return ResponseEntity.ok(tasks);
+        return ResponseEntity.ok()
+                .eTag(ETagUtils.of(tasks.getVersion()))
+                .body(tasks);
     }
 }
\ No newline at end of file
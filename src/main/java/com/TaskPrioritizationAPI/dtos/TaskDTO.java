@@ -9,9 +9,15 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 public class TaskDTO {
+    private Long id;
     private String title;
     private String description;
     private Priority priority;
     private LocalDate dueDate;
     private Boolean isCompleted;
+    private Long version;
+
+    public TaskDTO(Long id, String title, String description, Priority priority, LocalDate dueDate, Boolean isCompleted) {
+        this(id, title, description, priority, dueDate, isCompleted, null);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.TaskPrioritizationAPI.exceptions;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -9,18 +11,52 @@ import org.springframework.web.server.ResponseStatusException;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @ExceptionHandler(ResponseStatusException.class)
     public ResponseEntity<String> handleResponseStatusException(ResponseStatusException ex) {
+        countException(ex);
         return new ResponseEntity<>(ex.getMessage(), ex.getStatus());
     }
 
+    @ExceptionHandler(TaskVersionMismatchException.class)
+    public ResponseEntity<String> handleTaskVersionMismatchException(TaskVersionMismatchException ex) {
+        countException(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(TaskUpdateConflictException.class)
+    public ResponseEntity<String> handleTaskUpdateConflictException(TaskUpdateConflictException ex) {
+        countException(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(TaskAlreadyExistsException.class)
+    public ResponseEntity<String> handleTaskAlreadyExistsException(TaskAlreadyExistsException ex) {
+        countException(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<String> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex) {
+        countException(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<String> handleRuntimeException(RuntimeException ex) {
+        countException(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGenericException(Exception ex) {
+        countException(ex);
         return new ResponseEntity<>("An unexpected error occurred: " + ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    private void countException(Exception ex) {
+        meterRegistry.counter("task.api.exceptions", "exception", ex.getClass().getSimpleName()).increment();
+    }
 }
@@ -0,0 +1,7 @@
+package com.TaskPrioritizationAPI.exceptions;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
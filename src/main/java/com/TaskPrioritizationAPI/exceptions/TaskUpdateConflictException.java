@@ -0,0 +1,7 @@
+package com.TaskPrioritizationAPI.exceptions;
+
+public class TaskUpdateConflictException extends RuntimeException {
+    public TaskUpdateConflictException(String message) {
+        super(message);
+    }
+}
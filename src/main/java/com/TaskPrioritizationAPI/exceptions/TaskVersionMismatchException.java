@@ -0,0 +1,7 @@
+package com.TaskPrioritizationAPI.exceptions;
+
+public class TaskVersionMismatchException extends RuntimeException {
+    public TaskVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,100 @@
+package com.TaskPrioritizationAPI.idempotency;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.exceptions.IdempotencyKeyReusedException;
+import com.TaskPrioritizationAPI.models.IdempotentRequest;
+import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.repositories.IdempotentRequestRepository;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Idempotency-Key support for POST /tasks/create. The created task is stored under the key in the
+ * transaction that creates it, on the tenant's shard, so a client that retries a create whose response
+ * it never got receives the same task instead of a duplicate error. Keys are kept for task.idempotency.retention.
+ */
+@Component
+@Profile("!reactive")
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    @Autowired
+    private IdempotentRequestRepository idempotentRequestRepository;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${task.idempotency.retention:24h}")
+    private Duration retention;
+
+    /** The task created earlier with key, or null for a new key. A key sent again with another request is rejected. */
+    public TaskDTO find(String key, TaskRequest request) {
+        IdempotentRequest stored = idempotentRequestRepository.findById(key).orElse(null);
+        if (stored == null) {
+            return null;
+        }
+        if (!stored.getRequestHash().equals(hashOf(request))) {
+            throw new IdempotencyKeyReusedException("Idempotency key " + key + " was already used for a different task.");
+        }
+        try {
+            return objectMapper.readValue(stored.getResponse(), TaskDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable response stored for idempotency key " + key, e);
+        }
+    }
+
+    /** Must run inside the transaction that creates the task; a concurrent create with the same key fails it. */
+    public void remember(String key, TaskRequest request, TaskDTO created) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Idempotency keys must be stored in the transaction that creates the task.");
+        }
+        try {
+            idempotentRequestRepository.saveAndFlush(new IdempotentRequest(key, hashOf(request), created.getId(),
+                    objectMapper.writeValueAsString(created), Instant.now()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task " + created.getId(), e);
+        }
+    }
+
+    @Scheduled(cron = "${task.idempotency.prune-cron:0 50 0 * * *}")
+    public void prune() {
+        Instant before = Instant.now().minus(retention);
+        for (int shard = 0; shard < taskShards.count(); shard++) {
+            Integer pruned = taskShards.onShard(shard,
+                    () -> transactionTemplate.execute(status -> idempotentRequestRepository.deleteCreatedBefore(before)));
+            log.info("Pruned {} idempotency key(s) older than {} from shard {}", pruned, retention, shard);
+        }
+    }
+
+    private String hashOf(TaskRequest request) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash the task request", e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.TaskPrioritizationAPI.index;
+
+import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.repositories.projections.TaskKeyView;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over the (title, dueDate) of every task, so createTask can skip its duplicate lookup for a
+ * key that certainly does not exist yet. A "maybe" still goes to the database, and the unique key on the
+ * tasks table catches what the filter cannot know about (tasks created through another instance or renamed
+ * by write-behind). Titles are compared case-insensitively, like MySQL's default collation.
+ * Rebuilt from the repository at startup; until then every key is a "maybe".
+ */
+@Component
+@Profile("!reactive")
+public class TaskKeyFilter {
+
+    private static final String LOOKUPS_COUNTER = "task.create.key-filter";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${task.create.key-filter.expected-keys:1000000}")
+    private long expectedKeys;
+
+    @Value("${task.create.key-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile Bits bits;
+    // Receives the keys written while a rebuild streams the table, so none is lost when it is swapped in.
+    private volatile Bits building;
+
+    private Counter skipped;
+    private Counter duplicates;
+    private Counter falsePositives;
+    private Counter missed;
+
+    @PostConstruct
+    public void init() {
+        skipped = meterRegistry.counter(LOOKUPS_COUNTER, "result", "skipped");
+        duplicates = meterRegistry.counter(LOOKUPS_COUNTER, "result", "duplicate");
+        falsePositives = meterRegistry.counter(LOOKUPS_COUNTER, "result", "false_positive");
+        missed = meterRegistry.counter(LOOKUPS_COUNTER, "result", "missed");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long count = taskShards.readEachShard(taskRepository::count).stream().mapToLong(Long::longValue).sum();
+        // Room for the table to double before the false positive rate starts to climb.
+        Bits rebuilt = new Bits(Math.max(expectedKeys, 2 * count), falsePositiveRate);
+        building = rebuilt;
+        taskShards.readEachShard(() -> {
+            try (Stream<TaskKeyView> keys = taskRepository.streamKeys()) {
+                keys.forEach(key -> rebuilt.put(hash(key.getTitle(), key.getDueDate())));
+            }
+            return null;
+        });
+        bits = rebuilt;
+        building = null;
+    }
+
+    /** False when no task has this title and due date; true when one may have. Counts the lookups it saves. */
+    public boolean mightExist(String title, LocalDate dueDate) {
+        Bits current = bits;
+        if (current == null || title == null || dueDate == null || current.mightContain(hash(title, dueDate))) {
+            return true;
+        }
+        skipped.increment();
+        return false;
+    }
+
+    public void put(String title, LocalDate dueDate) {
+        if (title == null || dueDate == null) {
+            return;
+        }
+        long hash = hash(title, dueDate);
+        Bits current = bits;
+        if (current != null) {
+            current.put(hash);
+        }
+        Bits next = building;
+        if (next != null) {
+            next.put(hash);
+        }
+    }
+
+    /** Outcome of the lookup made after {@link #mightExist} said "maybe". */
+    public void recordLookup(boolean found) {
+        (found ? duplicates : falsePositives).increment();
+    }
+
+    /** The unique key rejected a task the filter had let through without a lookup. */
+    public void recordMissed() {
+        missed.increment();
+    }
+
+    private static long hash(String title, LocalDate dueDate) {
+        // FNV-1a over the lower-cased title and the day, then a murmur3 finalizer to spread the bits.
+        long h = 0xcbf29ce484222325L;
+        String normalized = title.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < normalized.length(); i++) {
+            h = (h ^ normalized.charAt(i)) * 0x100000001b3L;
+        }
+        h = (h ^ dueDate.toEpochDay()) * 0x100000001b3L;
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb53fe1a85ec9L;
+        return h ^ (h >>> 33);
+    }
+
+    /** Bit array probed numHashes times per key, with the probes derived from one 64-bit hash. */
+    static final class Bits {
+
+        private final AtomicLongArray words;
+        private final long size;
+        private final int numHashes;
+
+        Bits(long expectedKeys, double falsePositiveRate) {
+            long bitCount = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, (bitCount + 63) / 64));
+            this.size = words.length() * 64L;
+            this.numHashes = Math.max(1, (int) Math.round((double) size / expectedKeys * Math.log(2)));
+        }
+
+        void put(long hash) {
+            for (int i = 0; i < numHashes; i++) {
+                long bit = probe(hash, i);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = words.get(word);
+                while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                    current = words.get(word);
+                }
+            }
+        }
+
+        boolean mightContain(long hash) {
+            for (int i = 0; i < numHashes; i++) {
+                long bit = probe(hash, i);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long probe(long hash, int i) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            long combined = h1 + (long) i * h2;
+            return Math.floorMod(combined, size);
+        }
+    }
+}
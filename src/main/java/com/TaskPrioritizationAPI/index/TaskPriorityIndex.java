@@ -0,0 +1,177 @@
+package com.TaskPrioritizationAPI.index;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.mappers.TaskMapper;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory view of the open tasks ordered by (priority, dueDate, id), so the
+ * "what should I work on next" query never has to touch the database.
+ * TaskService keeps it in sync on every write; it is rebuilt from the repository at startup.
+ * A rebuild fills a fresh index while reads and writes keep using the current one; writes made
+ * meanwhile are replayed onto the fresh index before it is swapped in, so none is lost.
+ */
+@Component
+@Profile("!reactive")
+public class TaskPriorityIndex {
+
+    private static final Comparator<Key> ORDER = Comparator.comparing(Key::priority)
+            .thenComparing(Key::dueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Key::id);
+
+    private volatile Index index = new Index();
+
+    // Writers take the read lock (they do not exclude each other); the swap takes the write lock.
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object();
+    // Writes made while a rebuild runs, to be replayed onto the rebuilt index; null when none runs.
+    private volatile Queue<Consumer<Index>> writesDuringRebuild;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            writesDuringRebuild = new ConcurrentLinkedQueue<>();
+            try {
+                Index rebuilt = new Index();
+                // The index spans every shard; each one is streamed in its own read-only transaction.
+                taskShards.readEachShard(() -> {
+                    try (Stream<Task> tasks = taskRepository.streamByIsCompletedFalse()) {
+                        tasks.forEach(task -> {
+                            rebuilt.put(task.getId(), task.isCompleted(), TaskMapper.toDTO(task));
+                            entityManager.detach(task);
+                        });
+                    }
+                    return null;
+                });
+                swapLock.writeLock().lock();
+                try {
+                    // Replayed last, so a write made during the rebuild wins over the row the stream read.
+                    writesDuringRebuild.forEach(write -> write.accept(rebuilt));
+                    index = rebuilt;
+                } finally {
+                    swapLock.writeLock().unlock();
+                }
+            } finally {
+                writesDuringRebuild = null;
+            }
+        }
+    }
+
+    public void put(Task task) {
+        if (task.getId() == null) {
+            return;
+        }
+        Long id = task.getId();
+        boolean completed = task.isCompleted();
+        TaskDTO dto = TaskMapper.toDTO(task);
+        write(current -> current.put(id, completed, dto));
+    }
+
+    public void updatePriority(Collection<Long> ids, Priority priority) {
+        List<Long> batch = List.copyOf(ids);
+        write(current -> current.updatePriority(batch, priority));
+    }
+
+    public void remove(Long id) {
+        write(current -> current.remove(id));
+    }
+
+    private void write(Consumer<Index> write) {
+        swapLock.readLock().lock();
+        try {
+            write.accept(index);
+            Queue<Consumer<Index>> pending = writesDuringRebuild;
+            if (pending != null) {
+                pending.add(write);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public List<TaskDTO> top(int limit) {
+        return index.entries.values().stream().limit(limit).collect(Collectors.toList());
+    }
+
+    public int size() {
+        return index.keysById.size();
+    }
+
+    private static final class Index {
+
+        private final ConcurrentSkipListMap<Key, TaskDTO> entries = new ConcurrentSkipListMap<>(ORDER);
+        private final ConcurrentHashMap<Long, Key> keysById = new ConcurrentHashMap<>();
+
+        void put(Long id, boolean completed, TaskDTO dto) {
+            if (completed || dto.getPriority() == null) {
+                remove(id);
+                return;
+            }
+            Key key = new Key(dto.getPriority(), dto.getDueDate(), id);
+            keysById.compute(id, (taskId, previous) -> {
+                if (previous != null) {
+                    entries.remove(previous);
+                }
+                entries.put(key, dto);
+                return key;
+            });
+        }
+
+        void updatePriority(Collection<Long> ids, Priority priority) {
+            for (Long id : ids) {
+                keysById.computeIfPresent(id, (key, previous) -> {
+                    TaskDTO dto = entries.remove(previous);
+                    if (dto == null) {
+                        return null;
+                    }
+                    Key updated = new Key(priority, previous.dueDate(), id);
+                    Long version = dto.getVersion() == null ? null : dto.getVersion() + 1;
+                    entries.put(updated, new TaskDTO(id, dto.getTitle(), dto.getDescription(), priority, dto.getDueDate(), dto.getIsCompleted(), version));
+                    return updated;
+                });
+            }
+        }
+
+        void remove(Long id) {
+            keysById.computeIfPresent(id, (key, previous) -> {
+                entries.remove(previous);
+                return null;
+            });
+        }
+    }
+
+    private record Key(Priority priority, LocalDate dueDate, Long id) {
+    }
+}
@@ -0,0 +1,398 @@
+package com.TaskPrioritizationAPI.index;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.mappers.TaskMapper;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Lucene index over task title and description for /tasks/search, ranked by BM25 with title matches
+ * weighted double. Every stored field of the task is kept in the index, so a search never touches the
+ * database. TaskService keeps it in sync on every write; searches see writes after the next refresh
+ * (task.search.refresh-interval). It is rebuilt from the repository at startup, in memory unless
+ * task.search.index-dir is set.
+ * A rebuild fills a fresh index while searches and writes keep using the current one; writes made
+ * meanwhile are replayed onto the fresh index before it is swapped in, so none is lost. On disk each
+ * index lives in its own numbered directory under index-dir, and the newest committed one is searched
+ * from startup until the startup rebuild replaces it.
+ */
+@Component
+@Profile("!reactive")
+public class TaskSearchIndex {
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String PRIORITY = "priority";
+    private static final String DUE_DATE = "dueDate";
+    private static final String COMPLETED = "completed";
+    private static final String VERSION = "version";
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(TITLE, 2f, DESCRIPTION, 1f);
+    // Offset paging collects (page + 1) * size hits, so deep pages are capped.
+    private static final int MAX_WINDOW = 10_000;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private volatile Index index;
+
+    // Searches and writes take the read lock (they do not exclude each other); the swap takes the write lock,
+    // so no one still holds the replaced index when it is closed.
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object();
+    // Writes made while a rebuild runs, to be replayed onto the rebuilt index; null when none runs.
+    private volatile Queue<Consumer<Index>> writesDuringRebuild;
+
+    @Value("${task.search.index-dir:}")
+    private String indexDir;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @PostConstruct
+    public void init() throws IOException {
+        index = openLatest();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        index.close();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() throws IOException {
+        synchronized (rebuildLock) {
+            writesDuringRebuild = new ConcurrentLinkedQueue<>();
+            Index replaced;
+            Index rebuilt = openNext();
+            try {
+                taskShards.readEachShard(() -> {
+                    try (Stream<Task> tasks = taskRepository.streamAllByOrderByIdAsc()) {
+                        tasks.forEach(task -> {
+                            rebuilt.put(TaskMapper.toDTO(task));
+                            entityManager.detach(task);
+                        });
+                    }
+                    return null;
+                });
+                rebuilt.commit();
+                swapLock.writeLock().lock();
+                try {
+                    // Replayed last, so a write made during the rebuild wins over the row the stream read.
+                    writesDuringRebuild.forEach(write -> write.accept(rebuilt));
+                    replaced = index;
+                    index = rebuilt;
+                } finally {
+                    swapLock.writeLock().unlock();
+                }
+            } catch (IOException | RuntimeException e) {
+                rebuilt.closeAndDelete();
+                throw e;
+            } finally {
+                writesDuringRebuild = null;
+            }
+            replaced.closeAndDelete();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${task.search.refresh-interval:PT1S}")
+    public void refresh() throws IOException {
+        swapLock.readLock().lock();
+        try {
+            index.searcherManager.maybeRefresh();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public void put(Task task) {
+        if (task.getId() != null) {
+            TaskDTO dto = TaskMapper.toDTO(task);
+            write(current -> current.put(dto));
+        }
+    }
+
+    public void remove(Long id) {
+        write(current -> current.remove(id));
+    }
+
+    // The re-prioritization job's bulk UPDATE; bumps the version like the UPDATE does.
+    public void updatePriority(Collection<Long> ids, Priority priority) {
+        List<Long> batch = List.copyOf(ids);
+        write(current -> current.updatePriority(batch, priority));
+    }
+
+    /** Tasks matching every word of text (simple query syntax: "phrases", prefix*, -exclusions), best match first. */
+    public Page<TaskDTO> search(String text, Priority priority, Boolean completed, int page, int size) {
+        long window = (long) (page + 1) * size;
+        if (window > MAX_WINDOW) {
+            throw new IllegalArgumentException("Page " + page + " is too deep for search results. Refine the query.");
+        }
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query textQuery = parser.parse(text);
+        if (textQuery == null || textQuery instanceof MatchNoDocsQuery) {
+            return new PageImpl<>(List.of(), PageRequest.of(page, size), 0);
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+        if (priority != null) {
+            query.add(new TermQuery(new Term(PRIORITY, priority.name())), BooleanClause.Occur.FILTER);
+        }
+        if (completed != null) {
+            query.add(new TermQuery(new Term(COMPLETED, completed.toString())), BooleanClause.Occur.FILTER);
+        }
+        swapLock.readLock().lock();
+        try {
+            SearcherManager searcherManager = index.searcherManager;
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                Query combined = query.build();
+                TopDocs top = searcher.search(combined, (int) window);
+                long total = top.totalHits.relation == TotalHits.Relation.EQUAL_TO ? top.totalHits.value : searcher.count(combined);
+                StoredFields storedFields = searcher.storedFields();
+                List<TaskDTO> tasks = new ArrayList<>(size);
+                for (int i = page * size; i < top.scoreDocs.length; i++) {
+                    ScoreDoc hit = top.scoreDocs[i];
+                    tasks.add(toDTO(storedFields.document(hit.doc)));
+                }
+                return new PageImpl<>(tasks, PageRequest.of(page, size), total);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not search tasks", e);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<Index> write) {
+        swapLock.readLock().lock();
+        try {
+            write.accept(index);
+            Queue<Consumer<Index>> pending = writesDuringRebuild;
+            if (pending != null) {
+                pending.add(write);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // The newest index under index-dir that has a commit; a rebuild that died before its commit left none.
+    // Every other index directory is left over from an interrupted rebuild and is deleted.
+    private Index openLatest() throws IOException {
+        if (indexDir == null || indexDir.isBlank()) {
+            return new Index(null, new ByteBuffersDirectory(), analyzer);
+        }
+        Index latest = null;
+        List<Path> generations = generations();
+        for (int i = generations.size() - 1; i >= 0; i--) {
+            Path path = generations.get(i);
+            if (latest == null) {
+                Directory directory = FSDirectory.open(path);
+                if (DirectoryReader.indexExists(directory)) {
+                    latest = new Index(path, directory, analyzer);
+                    continue;
+                }
+                directory.close();
+            }
+            delete(path);
+        }
+        return latest != null ? latest : openNext();
+    }
+
+    private Index openNext() throws IOException {
+        if (indexDir == null || indexDir.isBlank()) {
+            return new Index(null, new ByteBuffersDirectory(), analyzer);
+        }
+        List<Path> generations = generations();
+        long next = generations.isEmpty() ? 1 : generation(generations.get(generations.size() - 1)) + 1;
+        Path path = Path.of(indexDir).resolve(Long.toString(next));
+        return new Index(path, FSDirectory.open(path), analyzer);
+    }
+
+    // The numbered index directories under index-dir, oldest first.
+    private List<Path> generations() throws IOException {
+        Path root = Files.createDirectories(Path.of(indexDir));
+        try (Stream<Path> paths = Files.list(root)) {
+            return paths.filter(path -> Files.isDirectory(path) && path.getFileName().toString().matches("\\d+"))
+                    .sorted(Comparator.comparingLong(TaskSearchIndex::generation))
+                    .toList();
+        }
+    }
+
+    private static long generation(Path path) {
+        return Long.parseLong(path.getFileName().toString());
+    }
+
+    private static void delete(Path path) throws IOException {
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static TaskDTO toDTO(Document document) {
+        String priority = document.get(PRIORITY);
+        String dueDate = document.get(DUE_DATE);
+        return new TaskDTO(Long.valueOf(document.get(ID)),
+                document.get(TITLE),
+                document.get(DESCRIPTION),
+                priority == null ? null : Priority.valueOf(priority),
+                dueDate == null ? null : LocalDate.parse(dueDate),
+                Boolean.valueOf(document.get(COMPLETED)),
+                document.getField(VERSION).numericValue().longValue());
+    }
+
+    private static final class Index {
+
+        private final Path path;
+        private final Directory directory;
+        private final IndexWriter writer;
+        private final SearcherManager searcherManager;
+
+        Index(Path path, Directory directory, Analyzer analyzer) throws IOException {
+            this.path = path;
+            this.directory = directory;
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            this.searcherManager = new SearcherManager(writer, null);
+        }
+
+        void put(TaskDTO task) {
+            Document document = new Document();
+            document.add(new StringField(ID, task.getId().toString(), Field.Store.YES));
+            if (task.getTitle() != null) {
+                document.add(new TextField(TITLE, task.getTitle(), Field.Store.YES));
+            }
+            if (task.getDescription() != null) {
+                document.add(new TextField(DESCRIPTION, task.getDescription(), Field.Store.YES));
+            }
+            if (task.getPriority() != null) {
+                document.add(new StringField(PRIORITY, task.getPriority().name(), Field.Store.YES));
+            }
+            if (task.getDueDate() != null) {
+                document.add(new StoredField(DUE_DATE, task.getDueDate().toString()));
+            }
+            document.add(new StringField(COMPLETED, String.valueOf(Boolean.TRUE.equals(task.getIsCompleted())), Field.Store.YES));
+            document.add(new StoredField(VERSION, task.getVersion() == null ? 0L : task.getVersion()));
+            try {
+                writer.updateDocument(new Term(ID, task.getId().toString()), document);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not index task " + task.getId(), e);
+            }
+        }
+
+        void remove(Long id) {
+            try {
+                writer.deleteDocuments(new Term(ID, id.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not remove task " + id + " from the search index", e);
+            }
+        }
+
+        void updatePriority(Collection<Long> ids, Priority priority) {
+            try {
+                searcherManager.maybeRefreshBlocking();
+                IndexSearcher searcher = searcherManager.acquire();
+                try {
+                    StoredFields storedFields = searcher.storedFields();
+                    for (Long id : ids) {
+                        TopDocs found = searcher.search(new TermQuery(new Term(ID, id.toString())), 1);
+                        if (found.scoreDocs.length > 0) {
+                            TaskDTO task = toDTO(storedFields.document(found.scoreDocs[0].doc));
+                            task.setPriority(priority);
+                            task.setVersion(task.getVersion() + 1);
+                            put(task);
+                        }
+                    }
+                } finally {
+                    searcherManager.release(searcher);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not update the search index", e);
+            }
+        }
+
+        void commit() throws IOException {
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+        }
+
+        void close() throws IOException {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        }
+
+        void closeAndDelete() throws IOException {
+            close();
+            if (path != null) {
+                delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.TaskPrioritizationAPI.jobs;
+
+public record ArchivalResult(int archived, long durationMillis) {
+}
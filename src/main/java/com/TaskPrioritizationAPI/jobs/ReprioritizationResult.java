@@ -0,0 +1,4 @@
+package com.TaskPrioritizationAPI.jobs;
+
+public record ReprioritizationResult(int promotedToHigh, int promotedToMedium, long durationMillis) {
+}
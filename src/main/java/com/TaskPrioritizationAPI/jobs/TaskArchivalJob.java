@@ -0,0 +1,139 @@
+package com.TaskPrioritizationAPI.jobs;
+
+import com.TaskPrioritizationAPI.cache.TaskCache;
+import com.TaskPrioritizationAPI.changes.TaskChangeFeed;
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.index.TaskPriorityIndex;
+import com.TaskPrioritizationAPI.index.TaskSearchIndex;
+import com.TaskPrioritizationAPI.mappers.TaskMapper;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.models.TaskChangeType;
+import com.TaskPrioritizationAPI.repositories.ArchivedTaskRepository;
+import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import com.TaskPrioritizationAPI.stats.TaskStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves completed tasks that were due more than task.archive.after-days ago from tasks to task_archive,
+ * in batches of task.archive.batch-size. Each batch is copied with one INSERT ... SELECT and removed with
+ * one DELETE in the same transaction, so a task is always in exactly one of the two tables; the batch's
+ * ARCHIVED changes are recorded in that transaction too. Tasks carry no completion time, so the due date
+ * stands in for the task's age.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "task.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskArchivalJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchivalJob.class);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TaskPriorityIndex taskPriorityIndex;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    @Autowired
+    private TaskChangeFeed taskChangeFeed;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${task.archive.after-days:90}")
+    private int afterDays;
+
+    @Value("${task.archive.batch-size:500}")
+    private int batchSize;
+
+    private ArchivalResult lastResult;
+
+    @Scheduled(cron = "${task.archive.cron:0 35 0 * * *}")
+    public synchronized ArchivalResult run() {
+        LocalDate dueBefore = LocalDate.now().minusDays(afterDays);
+        Specification<Task> archivable = (root, query, cb) -> cb.and(
+                cb.isTrue(root.get("isCompleted")),
+                cb.lessThan(root.get("dueDate"), dueBefore));
+        long start = System.nanoTime();
+
+        int archived = 0;
+        for (int shard = 0; shard < taskShards.count(); shard++) {
+            archived += taskShards.onShard(shard, () -> archiveOnShard(archivable));
+        }
+
+        long elapsed = System.nanoTime() - start;
+        lastResult = new ArchivalResult(archived, elapsed / 1_000_000);
+        meterRegistry.timer("task.archive.duration").record(elapsed, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("task.archive.archived").increment(archived);
+        log.info("Archived {} completed task(s) due before {} in {} ms", archived, dueBefore, lastResult.durationMillis());
+        return lastResult;
+    }
+
+    public ArchivalResult getLastResult() {
+        return lastResult;
+    }
+
+    private int archiveOnShard(Specification<Task> archivable) {
+        int archived = 0;
+        long afterId = 0L;
+        List<Task> batch;
+        do {
+            long from = afterId;
+            batch = transactionTemplate.execute(status -> {
+                List<Task> tasks = taskRepository.findForUpdate(archivable, from, batchSize);
+                if (!tasks.isEmpty()) {
+                    List<Long> ids = tasks.stream().map(Task::getId).toList();
+                    archivedTaskRepository.copyFromTasks(ids);
+                    taskRepository.deleteByIds(ids);
+                    taskChangeFeed.recordAll(TaskChangeType.ARCHIVED, tasks.stream().map(TaskMapper::toDTO).toList());
+                }
+                return tasks;
+            });
+            for (Task task : batch) {
+                TaskDTO archivedTask = TaskMapper.toDTO(task);
+                taskPriorityIndex.remove(task.getId());
+                taskSearchIndex.remove(task.getId());
+                taskCache.evict(task.getId(), archivedTask);
+                // The counters follow the tasks table, which reconcile() recounts.
+                taskStatistics.recordDeleted(archivedTask);
+            }
+            archived += batch.size();
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
+        return archived;
+    }
+}
@@ -0,0 +1,160 @@
+package com.TaskPrioritizationAPI.jobs;
+
+import com.TaskPrioritizationAPI.cache.TaskCache;
+import com.TaskPrioritizationAPI.changes.TaskChangeFeed;
+import com.TaskPrioritizationAPI.index.TaskPriorityIndex;
+import com.TaskPrioritizationAPI.index.TaskSearchIndex;
+import com.TaskPrioritizationAPI.mappers.TaskMapper;
+import com.TaskPrioritizationAPI.models.JobWatermark;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.models.TaskChangeType;
+import com.TaskPrioritizationAPI.repositories.JobWatermarkRepository;
+import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import com.TaskPrioritizationAPI.stats.TaskStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Promotes open tasks whose due date crossed the HIGH or MEDIUM window since the previous run.
+ * Only the due-date ranges that moved into a window are scanned, and rows are updated with
+ * set-based UPDATE statements in batches of ids instead of being loaded and saved one by one.
+ * The previous run date is kept in job_watermarks on shard 0, so a restart does not rescan the
+ * initial lookback range.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "task.reprioritization.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskReprioritizationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskReprioritizationJob.class);
+
+    static final String WATERMARK = "task-reprioritization";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JobWatermarkRepository jobWatermarkRepository;
+
+    @Autowired
+    private TaskPriorityIndex taskPriorityIndex;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    @Autowired
+    private TaskChangeFeed taskChangeFeed;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${task.reprioritization.batch-size:500}")
+    private int batchSize;
+
+    @Value("${task.reprioritization.initial-lookback-days:365}")
+    private int initialLookbackDays;
+
+    private ReprioritizationResult lastResult;
+
+    @Scheduled(cron = "${task.reprioritization.cron:0 5 0 * * *}")
+    public synchronized ReprioritizationResult run() {
+        LocalDate today = LocalDate.now();
+        LocalDate previousRun = taskShards.onShard(0, () -> jobWatermarkRepository.findById(WATERMARK))
+                .map(JobWatermark::getLastRunDate)
+                .orElse(today.minusDays(initialLookbackDays));
+        long start = System.nanoTime();
+
+        int promotedToHigh = promote(EnumSet.of(Priority.MEDIUM, Priority.LOW), Priority.HIGH,
+                previousRun.plusDays(Priority.HIGH_PRIORITY_WINDOW_DAYS), today.plusDays(Priority.HIGH_PRIORITY_WINDOW_DAYS));
+        int promotedToMedium = promote(EnumSet.of(Priority.LOW), Priority.MEDIUM,
+                previousRun.plusDays(Priority.MEDIUM_PRIORITY_WINDOW_DAYS), today.plusDays(Priority.MEDIUM_PRIORITY_WINDOW_DAYS));
+
+        if (promotedToHigh + promotedToMedium > 0) {
+            // The bulk UPDATE does not say which priority each task left, so recount instead.
+            taskStatistics.reconcile();
+        }
+        // Saved only after every shard was promoted; a failed run starts again from the old date, which is harmless.
+        taskShards.runOnShard(0, () -> jobWatermarkRepository.save(new JobWatermark(WATERMARK, today)));
+        long elapsed = System.nanoTime() - start;
+        lastResult = new ReprioritizationResult(promotedToHigh, promotedToMedium, elapsed / 1_000_000);
+        meterRegistry.timer("task.reprioritization.duration").record(elapsed, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("task.reprioritization.promoted", "priority", Priority.HIGH.name()).increment(promotedToHigh);
+        meterRegistry.counter("task.reprioritization.promoted", "priority", Priority.MEDIUM.name()).increment(promotedToMedium);
+        log.info("Re-prioritization promoted {} task(s) to HIGH and {} task(s) to MEDIUM in {} ms",
+                promotedToHigh, promotedToMedium, lastResult.durationMillis());
+        return lastResult;
+    }
+
+    public ReprioritizationResult getLastResult() {
+        return lastResult;
+    }
+
+    private int promote(Set<Priority> from, Priority to, LocalDate dueFrom, LocalDate dueTo) {
+        if (!dueFrom.isBefore(dueTo)) {
+            return 0;
+        }
+        int promoted = 0;
+        // Promotions run shard by shard; the index, cache and counters they touch span all shards.
+        for (int shard = 0; shard < taskShards.count(); shard++) {
+            promoted += taskShards.onShard(shard, () -> promoteOnShard(from, to, dueFrom, dueTo));
+        }
+        if (promoted > 0) {
+            from.forEach(taskCache::evictPriority);
+            taskCache.evictPriority(to);
+        }
+        return promoted;
+    }
+
+    private int promoteOnShard(Set<Priority> from, Priority to, LocalDate dueFrom, LocalDate dueTo) {
+        int promoted = 0;
+        long afterId = 0L;
+        List<Long> ids;
+        do {
+            ids = taskRepository.findIdsToReprioritize(from, dueFrom, dueTo, afterId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Long> batch = ids;
+            Integer updated = transactionTemplate.execute(status -> {
+                int count = taskRepository.updatePriority(batch, to);
+                // The bulk UPDATE bypasses the entities, so the promoted tasks are read back for the change feed.
+                taskChangeFeed.recordAll(TaskChangeType.UPDATED, taskRepository.findAllById(batch).stream().map(TaskMapper::toDTO).toList());
+                return count;
+            });
+            taskPriorityIndex.updatePriority(batch, to);
+            taskSearchIndex.updatePriority(batch, to);
+            taskCache.evictTasks(batch);
+            promoted += (updated == null) ? 0 : updated;
+            afterId = batch.get(batch.size() - 1);
+        } while (ids.size() == batchSize);
+        return promoted;
+    }
+}
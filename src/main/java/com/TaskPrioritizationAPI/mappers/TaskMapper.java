@@ -11,11 +11,13 @@ public class TaskMapper {
 
     public static TaskDTO toDTO(Task task) {
         TaskDTO dto = new TaskDTO();
+        dto.setId(task.getId());
         dto.setTitle(task.getTitle());
         dto.setDescription(task.getDescription());
         dto.setPriority(task.getPriority());
         dto.setDueDate(task.getDueDate());
         dto.setIsCompleted(task.isCompleted());
+        dto.setVersion(task.getVersion());
         return dto;
     }
 
@@ -28,4 +30,10 @@ public class TaskMapper {
         task.setCompleted(dto.getIsCompleted());
         return task;
     }
+
+    /** A detached task with the DTO's id and version, for reads answered from a DTO. */
+    public static Task toTask(TaskDTO dto) {
+        return new Task(dto.getId(), dto.getTitle(), dto.getDescription(), dto.getPriority(), dto.getDueDate(),
+                Boolean.TRUE.equals(dto.getIsCompleted()), dto.getVersion() == null ? 0L : dto.getVersion());
+    }
 }
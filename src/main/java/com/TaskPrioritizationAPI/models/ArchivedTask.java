@@ -0,0 +1,39 @@
+package com.TaskPrioritizationAPI.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * A completed task moved out of the tasks table by the archival job. It keeps its id, so it can still be
+ * looked up by it, and is read-only from then on. The table only carries the index the archive query needs.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "task_archive", indexes = {
+        @Index(name = "idx_task_archive_due_date_id", columnList = "due_date, id")
+})
+public class ArchivedTask {
+    @Id
+    private Long id;
+    private String title;
+    private String description;
+    @Enumerated(EnumType.STRING)
+    private Priority priority;
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+    private boolean isCompleted;
+    private long version;
+    private String tenantId;
+
+    public Task toTask() {
+        return new Task(id, title, description, priority, dueDate, isCompleted, version, tenantId);
+    }
+}
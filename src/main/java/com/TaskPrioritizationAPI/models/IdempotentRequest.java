@@ -0,0 +1,44 @@
+package com.TaskPrioritizationAPI.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * A create made with an Idempotency-Key: a hash of the request and the created task as JSON, written in
+ * the same transaction as the task so a retry can be answered with the original response.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "task_idempotency_keys", indexes = {
+        @Index(name = "idx_task_idempotency_keys_created_at", columnList = "created_at")
+})
+public class IdempotentRequest implements Persistable<String> {
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+    @Column(length = 64)
+    private String requestHash;
+    private Long taskId;
+    @Column(length = 2048)
+    private String response;
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    // Rows are only ever inserted, so save() can persist without looking the key up first.
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
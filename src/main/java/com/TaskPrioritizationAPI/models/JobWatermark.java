@@ -0,0 +1,27 @@
+package com.TaskPrioritizationAPI.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * The date a scheduled job last completed, so it can resume from there after a restart instead of
+ * scanning its whole initial range again.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "job_watermarks")
+public class JobWatermark {
+    @Id
+    @Column(name = "job_name")
+    private String jobName;
+    @Column(name = "last_run_date")
+    private LocalDate lastRunDate;
+}
@@ -3,5 +3,9 @@ package com.TaskPrioritizationAPI.models;
 public enum Priority {
     HIGH,
     MEDIUM,
-    LOW
+    LOW;
+
+    // Open tasks due within these many days are HIGH or MEDIUM respectively.
+    public static final int HIGH_PRIORITY_WINDOW_DAYS = 7;
+    public static final int MEDIUM_PRIORITY_WINDOW_DAYS = 20;
 }
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.time.LocalDate;
@@ -13,15 +15,44 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "tasks")
+// The unique key backs the duplicate check in createTask, which alone cannot stop two concurrent creates.
+@Table(name = "tasks", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_tasks_title_due_date", columnNames = {"title", "due_date"})
+}, indexes = {
+        @Index(name = "idx_tasks_priority_due_date_id", columnList = "priority, due_date, id"),
+        @Index(name = "idx_tasks_due_date_id", columnList = "due_date, id"),
+        @Index(name = "idx_tasks_completed_priority_due_date", columnList = "is_completed, priority, due_date")
+})
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts; with sharding the shard goes in the top bits.
+    @GeneratedValue(generator = "task_seq")
+    @GenericGenerator(name = "task_seq", strategy = "com.TaskPrioritizationAPI.sharding.ShardedSequenceGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "task_seq"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled")
+    })
     private Long id;
     private String title;
     private String description;
     @Enumerated(EnumType.STRING)
     private Priority priority;
+    // Named explicitly: index and unique key column lists are matched before the physical naming strategy runs.
+    @Column(name = "due_date")
     private LocalDate dueDate;
+    @Column(name = "is_completed")
     private boolean isCompleted;
+    // Checked and bumped on every update, so a write based on a stale read fails instead of overwriting.
+    @Version
+    private long version;
+    // Routing key for sharding; tasks created before it existed belong to the default tenant.
+    private String tenantId;
+
+    public Task(Long id, String title, String description, Priority priority, LocalDate dueDate, boolean isCompleted) {
+        this(id, title, description, priority, dueDate, isCompleted, 0L);
+    }
+
+    public Task(Long id, String title, String description, Priority priority, LocalDate dueDate, boolean isCompleted, long version) {
+        this(id, title, description, priority, dueDate, isCompleted, version, null);
+    }
 }
@@ -0,0 +1,35 @@
+package com.TaskPrioritizationAPI.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * Outbox row for the /tasks/changes feed, written in the same transaction as the task change it records.
+ * The payload is the task as JSON after the change, or as it was for a delete.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "task_changes", indexes = {
+        @Index(name = "idx_task_changes_changed_at", columnList = "changed_at")
+})
+public class TaskChange {
+    @Id
+    // Assigned by the database in insert order; the feed reads by it. Rows are inserted with JDBC batches, see TaskChangeRepositoryCustom.
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+    private Long taskId;
+    @Enumerated(EnumType.STRING)
+    private TaskChangeType type;
+    @Column(length = 2048)
+    private String payload;
+    @Column(name = "changed_at")
+    private Instant changedAt;
+}
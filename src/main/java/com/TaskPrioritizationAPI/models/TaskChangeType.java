@@ -0,0 +1,8 @@
+package com.TaskPrioritizationAPI.models;
+
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    ARCHIVED
+}
@@ -0,0 +1,10 @@
+package com.TaskPrioritizationAPI.payload.request;
+
+import java.util.List;
+
+/**
+ * Tasks for /tasks/bulk/complete and /tasks/bulk/delete: either ids or a filter with the same
+ * fields as /tasks/filter (dueFrom and dueTo are inclusive), not both.
+ */
+public record BulkTaskRequest(List<Long> ids, TaskFilterRequest filter) {
+}
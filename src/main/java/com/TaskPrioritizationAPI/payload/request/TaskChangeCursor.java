@@ -0,0 +1,55 @@
+package com.TaskPrioritizationAPI.payload.request;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Position in the /tasks/changes feed: the seq of the last change read, per shard. Unsharded it is a
+ * single number; with sharding every shard has its own seq and the positions are comma separated.
+ */
+public record TaskChangeCursor(List<Long> positions) {
+
+    private static final String SEPARATOR = ",";
+
+    public static TaskChangeCursor start(int shards) {
+        return new TaskChangeCursor(Collections.nCopies(shards, 0L));
+    }
+
+    public long position(int shard) {
+        return positions.get(shard);
+    }
+
+    public TaskChangeCursor withPosition(int shard, long seq) {
+        List<Long> moved = new ArrayList<>(positions);
+        moved.set(shard, seq);
+        return new TaskChangeCursor(List.copyOf(moved));
+    }
+
+    public String encode() {
+        return String.join(SEPARATOR, positions.stream().map(String::valueOf).toList());
+    }
+
+    public static TaskChangeCursor decode(String token, int shards) {
+        if (token == null || token.isBlank()) {
+            return start(shards);
+        }
+        String[] parts = token.split(SEPARATOR, -1);
+        if (parts.length != shards) {
+            throw new IllegalArgumentException("Invalid change cursor: " + token + ". Expected " + shards + " position(s).");
+        }
+        List<Long> positions = new ArrayList<>(shards);
+        for (String part : parts) {
+            try {
+                long seq = Long.parseLong(part.trim());
+                if (seq < 0) {
+                    throw new NumberFormatException();
+                }
+                positions.add(seq);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid change cursor: " + token);
+            }
+        }
+        return new TaskChangeCursor(List.copyOf(positions));
+    }
+}
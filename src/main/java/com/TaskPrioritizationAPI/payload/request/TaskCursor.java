@@ -0,0 +1,35 @@
+package com.TaskPrioritizationAPI.payload.request;
+
+import com.TaskPrioritizationAPI.models.Priority;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for /tasks/sort. Encodes the sort mode and the
+ * (priority, dueDate, id) of the last task returned on the previous page.
+ */
+public record TaskCursor(String sort, Priority priority, LocalDate dueDate, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = sort + SEPARATOR + (priority == null ? "" : priority.name()) + SEPARATOR + dueDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            Priority priority = parts[1].isEmpty() ? null : Priority.valueOf(parts[1]);
+            return new TaskCursor(parts[0], priority, LocalDate.parse(parts[2]), Long.valueOf(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.TaskPrioritizationAPI.payload.request;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Raw /tasks/filter query parameters. filter/value is the original single-filter form
+ * (e.g. filter=priority&value=HIGH) and can be combined with the other parameters.
+ */
+public record TaskFilterRequest(String filter,
+                                String value,
+                                String completed,
+                                String priority,
+                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                                String titlePrefix) {
+}
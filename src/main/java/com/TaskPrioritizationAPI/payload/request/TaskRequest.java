@@ -1,6 +1,17 @@
 package com.TaskPrioritizationAPI.payload.request;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+
 import java.time.LocalDate;
 
-public record TaskRequest(String title, String description, LocalDate dueDate, boolean isCritical) {
+// tenantId is optional; without it the task belongs to the tenant of the request (X-Tenant-ID).
+public record TaskRequest(String title, String description, LocalDate dueDate, boolean isCritical, String tenantId) {
+
+    @JsonCreator
+    public TaskRequest {
+    }
+
+    public TaskRequest(String title, String description, LocalDate dueDate, boolean isCritical) {
+        this(title, description, dueDate, isCritical, null);
+    }
 }
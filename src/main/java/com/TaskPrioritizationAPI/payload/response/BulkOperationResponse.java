@@ -0,0 +1,4 @@
+package com.TaskPrioritizationAPI.payload.response;
+
+public record BulkOperationResponse(long affected) {
+}
@@ -0,0 +1,14 @@
+package com.TaskPrioritizationAPI.payload.response;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+
+public record BulkTaskResult(int index, boolean success, TaskDTO task, String error) {
+
+    public static BulkTaskResult success(int index, TaskDTO task) {
+        return new BulkTaskResult(index, true, task, null);
+    }
+
+    public static BulkTaskResult failure(int index, String error) {
+        return new BulkTaskResult(index, false, null, error);
+    }
+}
@@ -0,0 +1,10 @@
+package com.TaskPrioritizationAPI.payload.response;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public record CacheStatsResponse(String cache, long size, long hits, long misses, long evictions, double hitRate) {
+
+    public static CacheStatsResponse of(String cache, long size, CacheStats stats) {
+        return new CacheStatsResponse(cache, size, stats.hitCount(), stats.missCount(), stats.evictionCount(), stats.hitRate());
+    }
+}
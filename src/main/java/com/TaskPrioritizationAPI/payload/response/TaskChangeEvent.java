@@ -0,0 +1,10 @@
+package com.TaskPrioritizationAPI.payload.response;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.TaskChangeType;
+
+import java.time.Instant;
+
+/** One entry of /tasks/changes. task is the task after the change, or as it was when it was deleted. */
+public record TaskChangeEvent(long seq, Long taskId, TaskChangeType type, TaskDTO task, Instant changedAt) {
+}
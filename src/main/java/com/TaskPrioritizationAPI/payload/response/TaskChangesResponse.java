@@ -0,0 +1,6 @@
+package com.TaskPrioritizationAPI.payload.response;
+
+import java.util.List;
+
+public record TaskChangesResponse(List<TaskChangeEvent> changes, String next) {
+}
@@ -0,0 +1,8 @@
+package com.TaskPrioritizationAPI.payload.response;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+
+import java.util.List;
+
+public record TaskFilterPageResponse(List<TaskDTO> tasks, int page, int size, long totalElements, int totalPages) {
+}
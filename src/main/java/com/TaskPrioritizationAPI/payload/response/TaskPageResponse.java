@@ -0,0 +1,8 @@
+package com.TaskPrioritizationAPI.payload.response;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+
+import java.util.List;
+
+public record TaskPageResponse(List<TaskDTO> tasks, String nextCursor) {
+}
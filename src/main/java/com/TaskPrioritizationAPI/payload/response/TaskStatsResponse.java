@@ -0,0 +1,14 @@
+package com.TaskPrioritizationAPI.payload.response;
+
+import com.TaskPrioritizationAPI.models.Priority;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record TaskStatsResponse(Map<Priority, Long> openByPriority,
+                                Map<Priority, Long> completedByPriority,
+                                long open,
+                                long completed,
+                                long overdue,
+                                Instant reconciledAt) {
+}
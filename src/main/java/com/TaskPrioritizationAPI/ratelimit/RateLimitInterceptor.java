@@ -0,0 +1,78 @@
+package com.TaskPrioritizationAPI.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in (task.rate-limit.enabled=true) per-client token bucket in front of /tasks/**. A request without a
+ * token is answered with 429 and a Retry-After before any handler or query runs. A client is the
+ * task.rate-limit.key-header (an API key), or the remote address when it is missing.
+ */
+@Component
+@Profile("!reactive")
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, TokenBucket> buckets;
+
+    @PostConstruct
+    public void init() {
+        buckets = Caffeine.newBuilder()
+                .expireAfterAccess(rateLimitProperties.getIdleTimeout())
+                .maximumSize(rateLimitProperties.getMaxClients())
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // The dispatch that completes a long poll belongs to a request that was already counted.
+        if (!rateLimitProperties.isEnabled() || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(clientOf(request), client -> new TokenBucket(
+                rateLimitProperties.getCapacity(), rateLimitProperties.getRefillPerSecond(), now));
+        long waitNanos = bucket.tryTake(now);
+        response.setHeader(LIMIT_HEADER, String.valueOf(rateLimitProperties.getCapacity()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(bucket.remaining()));
+        if (waitNanos == 0) {
+            return true;
+        }
+        meterRegistry.counter("task.rate-limit.rejected").increment();
+        long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Too many requests. Retry after " + retryAfter + " second(s).");
+        return false;
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String client = request.getHeader(rateLimitProperties.getKeyHeader());
+        // Separate namespaces, so an API key cannot spend the tokens of an address.
+        return (client == null || client.isBlank()) ? "addr:" + request.getRemoteAddr() : "key:" + client;
+    }
+}
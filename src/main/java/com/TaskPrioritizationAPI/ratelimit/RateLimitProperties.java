@@ -0,0 +1,24 @@
+package com.TaskPrioritizationAPI.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled;
+    // Clients are told apart by this header, or by their remote address when it is missing.
+    private String keyHeader = "X-API-Key";
+    // Requests a client may make in a burst.
+    private int capacity = 100;
+    // Requests a client may make per second once the burst is spent.
+    private double refillPerSecond = 50;
+    // Buckets of clients idle this long are dropped; a returning client starts with a full bucket.
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private long maxClients = 100_000;
+}
@@ -0,0 +1,38 @@
+package com.TaskPrioritizationAPI.ratelimit;
+
+/**
+ * Holds up to capacity tokens and gains refillPerSecond of them per second; every request takes one.
+ * Times are System.nanoTime() values passed in by the caller.
+ */
+class TokenBucket {
+
+    private final double capacity;
+    private final double nanosPerToken;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(int capacity, double refillPerSecond, long now) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("A token bucket needs a capacity of at least 1 and a positive refill rate.");
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = 1_000_000_000d / refillPerSecond;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /** Takes a token: 0 when one was taken, otherwise the nanoseconds until one will be available. */
+    synchronized long tryTake(long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) / nanosPerToken);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) * nanosPerToken);
+    }
+
+    synchronized int remaining() {
+        return (int) tokens;
+    }
+}
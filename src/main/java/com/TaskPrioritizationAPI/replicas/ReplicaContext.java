@@ -0,0 +1,33 @@
+package com.TaskPrioritizationAPI.replicas;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Whether the current request may read from a replica. {@link ReplicaReadInterceptor} allows it for GET
+ * requests; everything else (writes, scheduled jobs, the write-behind flush) stays on the primary.
+ */
+public final class ReplicaContext {
+
+    private static final ThreadLocal<Boolean> REPLICA_READS = new ThreadLocal<>();
+
+    private ReplicaContext() {
+    }
+
+    public static void allowReplicaReads() {
+        REPLICA_READS.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        REPLICA_READS.remove();
+    }
+
+    /** Whether the request may read from a replica at all, inside a transaction or not. */
+    public static boolean isReplicaReadAllowed() {
+        return Boolean.TRUE.equals(REPLICA_READS.get());
+    }
+
+    /** Only read-only transactions go to a replica, so a read inside a write transaction sees its own changes. */
+    public static boolean isReplicaRead() {
+        return isReplicaReadAllowed() && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
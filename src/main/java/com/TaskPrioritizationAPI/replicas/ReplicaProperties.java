@@ -0,0 +1,38 @@
+package com.TaskPrioritizationAPI.replicas;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task.replicas")
+public class ReplicaProperties {
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+
+    private boolean enabled;
+    // Replicas of spring.datasource; with sharding they are set per shard in task.sharding.shards[n].replicas.
+    private List<Replica> replicas = new ArrayList<>();
+    private Selection selection = Selection.ROUND_ROBIN;
+    // How long a client's GETs stay on the primary after it wrote something; 0 turns it off.
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    // A replica that refused a connection is skipped for this long.
+    private Duration retryAfter = Duration.ofSeconds(30);
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
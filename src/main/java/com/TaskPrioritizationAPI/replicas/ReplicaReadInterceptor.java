@@ -0,0 +1,61 @@
+package com.TaskPrioritizationAPI.replicas;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Lets GET requests read from replicas, except for clients that wrote within read-your-writes-window:
+ * those keep reading from the primary until replication has most likely caught up. A client is the
+ * X-Client-ID header, or the remote address when it is missing.
+ */
+@Component
+public class ReplicaReadInterceptor implements HandlerInterceptor {
+
+    public static final String CLIENT_HEADER = "X-Client-ID";
+
+    @Autowired
+    private ReplicaProperties replicaProperties;
+
+    private Cache<String, Boolean> recentWriters;
+
+    @PostConstruct
+    public void init() {
+        recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(replicaProperties.getReadYourWritesWindow())
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (replicaProperties.isEnabled() && isRead(request) && recentWriters.getIfPresent(clientOf(request)) == null) {
+            ReplicaContext.allowReplicaReads();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaContext.clear();
+        if (replicaProperties.isEnabled() && !isRead(request) && response.getStatus() < 400
+                && !replicaProperties.getReadYourWritesWindow().isZero()) {
+            recentWriters.put(clientOf(request), Boolean.TRUE);
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+
+    private static String clientOf(HttpServletRequest request) {
+        String client = request.getHeader(CLIENT_HEADER);
+        return (client == null || client.isBlank()) ? request.getRemoteAddr() : client;
+    }
+}
@@ -0,0 +1,125 @@
+package com.TaskPrioritizationAPI.replicas;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out replica connections for reads that {@link ReplicaContext} allows and primary connections for
+ * everything else. It has to sit behind a LazyConnectionDataSourceProxy, so the connection is only taken
+ * once the transaction is known to be read-only. A replica that fails to connect is skipped for
+ * retry-after; when no replica is left the read goes to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReplicaProperties.Selection selection;
+    private final long retryAfterNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    ReplicaProperties.Selection selection, Duration retryAfter) {
+        this.primary = primary;
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica(i, replicas.get(i)));
+        }
+        this.selection = selection;
+        this.retryAfterNanos = retryAfter.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReplicaContext.isReplicaRead()) {
+            for (Replica replica : candidates()) {
+                try {
+                    return replica.dataSource().getConnection();
+                } catch (SQLException e) {
+                    replica.markDown(retryAfterNanos, e);
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private List<Replica> candidates() {
+        long now = System.nanoTime();
+        List<Replica> up = new ArrayList<>(replicas.size());
+        if (selection == ReplicaProperties.Selection.LEAST_CONNECTIONS) {
+            for (Replica replica : replicas) {
+                if (replica.isUp(now)) {
+                    up.add(replica);
+                }
+            }
+            up.sort(Comparator.comparingInt(Replica::activeConnections));
+            return up;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isUp(now)) {
+                up.add(replica);
+            }
+        }
+        return up;
+    }
+
+    private static final class Replica {
+
+        private final int index;
+        private final DataSource dataSource;
+        private volatile long downUntil;
+        private volatile boolean down;
+
+        Replica(int index, DataSource dataSource) {
+            this.index = index;
+            this.dataSource = dataSource;
+        }
+
+        DataSource dataSource() {
+            return dataSource;
+        }
+
+        boolean isUp(long now) {
+            if (down && now - downUntil >= 0) {
+                down = false;
+                log.info("Retrying read replica {}", index);
+            }
+            return !down;
+        }
+
+        void markDown(long retryAfterNanos, SQLException cause) {
+            downUntil = System.nanoTime() + retryAfterNanos;
+            if (!down) {
+                down = true;
+                log.warn("Read replica {} is unavailable, reading from the other replicas or the primary: {}", index, cause.getMessage());
+            }
+        }
+
+        int activeConnections() {
+            if (dataSource instanceof HikariDataSource hikari) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                return pool == null ? 0 : pool.getActiveConnections();
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.TaskPrioritizationAPI.repositories;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.ArchivedTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    String TASK_DTO = "new com.TaskPrioritizationAPI.dtos.TaskDTO(a.id, a.title, a.description, a.priority, a.dueDate, a.isCompleted, a.version)";
+
+    // Copies the rows in one INSERT ... SELECT; the caller deletes them from tasks in the same transaction.
+    @Modifying
+    @Query("INSERT INTO ArchivedTask (id, title, description, priority, dueDate, isCompleted, version, tenantId) " +
+            "SELECT t.id, t.title, t.description, t.priority, t.dueDate, t.isCompleted, t.version, t.tenantId " +
+            "FROM Task t WHERE t.id IN :ids")
+    int copyFromTasks(@Param("ids") Collection<Long> ids);
+
+    // Keyset pages for /tasks/archive, served by idx_task_archive_due_date_id.
+    @Query("SELECT " + TASK_DTO + " FROM ArchivedTask a ORDER BY a.dueDate ASC, a.id ASC")
+    List<TaskDTO> findPageByDueDate(Pageable pageable);
+
+    @Query("SELECT " + TASK_DTO + " FROM ArchivedTask a " +
+            "WHERE a.dueDate > :dueDate OR (a.dueDate = :dueDate AND a.id > :id) " +
+            "ORDER BY a.dueDate ASC, a.id ASC")
+    List<TaskDTO> findPageByDueDateAfter(@Param("dueDate") LocalDate dueDate,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+}
@@ -0,0 +1,18 @@
+package com.TaskPrioritizationAPI.repositories;
+
+import com.TaskPrioritizationAPI.models.IdempotentRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotentRequestRepository extends JpaRepository<IdempotentRequest, String> {
+
+    @Modifying
+    @Query("DELETE FROM IdempotentRequest r WHERE r.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,9 @@
+package com.TaskPrioritizationAPI.repositories;
+
+import com.TaskPrioritizationAPI.models.JobWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobWatermarkRepository extends JpaRepository<JobWatermark, String> {
+}
@@ -0,0 +1,23 @@
+package com.TaskPrioritizationAPI.repositories;
+
+import com.TaskPrioritizationAPI.models.TaskChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TaskChangeRepository extends JpaRepository<TaskChange, Long>, TaskChangeRepositoryCustom {
+
+    @Query("SELECT c FROM TaskChange c WHERE c.seq > :since ORDER BY c.seq ASC")
+    List<TaskChange> findAfter(@Param("since") long since, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM TaskChange c WHERE c.changedAt < :before")
+    int deleteChangedBefore(@Param("before") Instant before);
+}
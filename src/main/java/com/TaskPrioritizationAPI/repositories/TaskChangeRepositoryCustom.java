@@ -0,0 +1,14 @@
+package com.TaskPrioritizationAPI.repositories;
+
+import com.TaskPrioritizationAPI.models.TaskChange;
+
+import java.util.List;
+
+public interface TaskChangeRepositoryCustom {
+
+    /**
+     * Inserts the changes in one JDBC batch on the current transaction's connection. IDENTITY ids keep
+     * Hibernate from batching them itself; the seq of each change is left unset.
+     */
+    void append(List<TaskChange> changes);
+}
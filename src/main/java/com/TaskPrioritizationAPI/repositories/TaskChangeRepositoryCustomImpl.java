@@ -0,0 +1,37 @@
+package com.TaskPrioritizationAPI.repositories;
+
+import com.TaskPrioritizationAPI.models.TaskChange;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+
+public class TaskChangeRepositoryCustomImpl implements TaskChangeRepositoryCustom {
+
+    private static final String INSERT = "INSERT INTO task_changes (task_id, type, payload, changed_at) VALUES (?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void append(List<TaskChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                for (TaskChange change : changes) {
+                    statement.setLong(1, change.getTaskId());
+                    statement.setString(2, change.getType().name());
+                    statement.setString(3, change.getPayload());
+                    statement.setTimestamp(4, Timestamp.from(change.getChangedAt()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+}
@@ -1,17 +1,98 @@
 package com.TaskPrioritizationAPI.repositories;
 
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
 import com.TaskPrioritizationAPI.models.Priority;
 import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.repositories.projections.TaskCountView;
+import com.TaskPrioritizationAPI.repositories.projections.TaskKeyView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
+
+    String TASK_DTO = "new com.TaskPrioritizationAPI.dtos.TaskDTO(t.id, t.title, t.description, t.priority, t.dueDate, t.isCompleted, t.version)";
+
     Optional<Task> findByTitleAndDueDate(String title, LocalDate dueDate);
-    List<Task> findByIsCompleted(boolean completed);
-    List<Task> findByPriority(Priority priority);
+    List<TaskKeyView> findKeysByTitleInAndDueDateIn(Collection<String> titles, Collection<LocalDate> dueDates);
+
+    // Keyset pages for /tasks/sort, served by idx_tasks_priority_due_date_id and idx_tasks_due_date_id.
+    // They select straight into TaskDTO, so no entity is hydrated or tracked.
+    @Query("SELECT " + TASK_DTO + " FROM Task t WHERE t.priority = :priority ORDER BY t.dueDate ASC, t.id ASC")
+    List<TaskDTO> findPageByPriority(@Param("priority") Priority priority, Pageable pageable);
+
+    @Query("SELECT " + TASK_DTO + " FROM Task t WHERE t.priority = :priority " +
+            "AND (t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :id)) " +
+            "ORDER BY t.dueDate ASC, t.id ASC")
+    List<TaskDTO> findPageByPriorityAfter(@Param("priority") Priority priority,
+                                          @Param("dueDate") LocalDate dueDate,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    @Query("SELECT " + TASK_DTO + " FROM Task t ORDER BY t.dueDate ASC, t.id ASC")
+    List<TaskDTO> findPageByDueDate(Pageable pageable);
+
+    @Query("SELECT " + TASK_DTO + " FROM Task t " +
+            "WHERE t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :id) " +
+            "ORDER BY t.dueDate ASC, t.id ASC")
+    List<TaskDTO> findPageByDueDateAfter(@Param("dueDate") LocalDate dueDate,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    // Forward-only scroll for the NDJSON export; needs useCursorFetch=true on MySQL for the fetch size to apply.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM Task t ORDER BY t.id ASC")
+    Stream<Task> streamAllByOrderByIdAsc();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<Task> streamByIsCompletedFalse();
+
+    // Only the columns TaskKeyFilter needs, without hydrating tasks.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t.title AS title, t.dueDate AS dueDate FROM Task t")
+    Stream<TaskKeyView> streamKeys();
+
+    @Query("SELECT t.id FROM Task t WHERE t.isCompleted = false AND t.priority IN :priorities " +
+            "AND t.dueDate >= :dueFrom AND t.dueDate < :dueTo AND t.id > :afterId ORDER BY t.id ASC")
+    List<Long> findIdsToReprioritize(@Param("priorities") Collection<Priority> priorities,
+                                     @Param("dueFrom") LocalDate dueFrom,
+                                     @Param("dueTo") LocalDate dueTo,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.priority = :priority, t.version = t.version + 1 WHERE t.id IN :ids")
+    int updatePriority(@Param("ids") Collection<Long> ids, @Param("priority") Priority priority);
+
+    // Bulk completion and deletion; the rows are locked first with TaskRepositoryCustom.findForUpdate.
+    @Modifying
+    @Query("UPDATE Task t SET t.isCompleted = true, t.priority = :priority, t.version = t.version + 1 WHERE t.id IN :ids")
+    int completeAll(@Param("ids") Collection<Long> ids, @Param("priority") Priority priority);
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    // Source of truth for the incrementally maintained counters in TaskStatistics.
+    @Query("SELECT t.priority AS priority, t.isCompleted AS completed, COUNT(t) AS total FROM Task t GROUP BY t.priority, t.isCompleted")
+    List<TaskCountView> countByPriorityAndCompleted();
+
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.isCompleted = false AND t.dueDate < :today")
+    long countOverdue(@Param("today") LocalDate today);
 }
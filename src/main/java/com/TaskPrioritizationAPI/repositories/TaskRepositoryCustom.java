@@ -0,0 +1,26 @@
+package com.TaskPrioritizationAPI.repositories;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.Task;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+    Page<TaskDTO> findDTOs(Specification<Task> specification, Pageable pageable);
+
+    /**
+     * Writes the given task states in one JDBC batch, each only if its row is still at the matching expected
+     * version, and sets the version stored in the state. Returns the update count per task; 0 means the row
+     * was changed or deleted since.
+     */
+    int[] updateIfVersion(List<Task> tasks, long[] expectedVersions);
+
+    /**
+     * Up to limit tasks matching the specification with an id above afterId, in id order, locked
+     * (SELECT ... FOR UPDATE) until the end of the transaction.
+     */
+    List<Task> findForUpdate(Specification<Task> specification, long afterId, int limit);
+}
@@ -0,0 +1,116 @@
+package com.TaskPrioritizationAPI.repositories;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.Task;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.List;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+/**
+ * Specification queries that select straight into {@link TaskDTO}, which
+ * JpaSpecificationExecutor cannot do since it always returns entities, and
+ * the version-checked batch update used by write-behind flushes, and the locking
+ * reads that bulk operations run before their set-based UPDATE or DELETE.
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final String UPDATE_IF_VERSION = "UPDATE tasks SET title = ?, description = ?, priority = ?, due_date = ?, " +
+            "is_completed = ?, version = ? WHERE id = ? AND version = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TaskDTO> findDTOs(Specification<Task> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskDTO> query = cb.createQuery(TaskDTO.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.construct(TaskDTO.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("description"),
+                root.get("priority"),
+                root.get("dueDate"),
+                root.get("isCompleted"),
+                root.get("version")));
+        query.where(specification.toPredicate(root, query, cb));
+        query.orderBy(toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<TaskDTO> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<TaskDTO> content = typedQuery.getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    private long count(Specification<Task> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.count(root));
+        query.where(specification.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public int[] updateIfVersion(List<Task> tasks, long[] expectedVersions) {
+        int[] updated = new int[tasks.size()];
+        if (tasks.isEmpty()) {
+            return updated;
+        }
+        // Plain JDBC batch on the transaction's connection: with rewriteBatchedStatements it is a single round trip.
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_IF_VERSION)) {
+                for (int i = 0; i < tasks.size(); i++) {
+                    Task task = tasks.get(i);
+                    statement.setString(1, task.getTitle());
+                    statement.setString(2, task.getDescription());
+                    statement.setString(3, task.getPriority() == null ? null : task.getPriority().name());
+                    if (task.getDueDate() == null) {
+                        statement.setNull(4, Types.DATE);
+                    } else {
+                        statement.setObject(4, task.getDueDate());
+                    }
+                    statement.setBoolean(5, task.isCompleted());
+                    statement.setLong(6, task.getVersion());
+                    statement.setLong(7, task.getId());
+                    statement.setLong(8, expectedVersions[i]);
+                    statement.addBatch();
+                }
+                int[] counts = statement.executeBatch();
+                System.arraycopy(counts, 0, updated, 0, counts.length);
+            }
+        });
+        return updated;
+    }
+
+    @Override
+    public List<Task> findForUpdate(Specification<Task> specification, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> root = query.from(Task.class);
+        query.where(cb.and(specification.toPredicate(root, query, cb), cb.greaterThan(root.get("id"), afterId)));
+        query.orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+}
@@ -0,0 +1,9 @@
+package com.TaskPrioritizationAPI.repositories.projections;
+
+import com.TaskPrioritizationAPI.models.Priority;
+
+public interface TaskCountView {
+    Priority getPriority();
+    boolean getCompleted();
+    long getTotal();
+}
@@ -0,0 +1,8 @@
+package com.TaskPrioritizationAPI.repositories.projections;
+
+import java.time.LocalDate;
+
+public interface TaskKeyView {
+    String getTitle();
+    LocalDate getDueDate();
+}
@@ -0,0 +1,278 @@
+package com.TaskPrioritizationAPI.repositories.reactive;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.repositories.specifications.TaskFilterCriteria;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * R2DBC access to the tasks table for the "reactive" profile. Uses the same table, indexes
+ * and keyset queries as {@link com.TaskPrioritizationAPI.repositories.TaskRepository}, with
+ * plain SQL so rows are read straight into DTOs and streamed as the client consumes them.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveTaskRepository {
+
+    private static final String COLUMNS = "id, title, description, priority, due_date, is_completed, version";
+    private static final int ID_ALLOCATION_SIZE = 50;
+    private static final TransactionDefinition REQUIRES_NEW =
+            new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+    // Ids reserved from task_seq but not handed out yet; same pooled scheme (blocks of 50) as the JPA side.
+    private final Queue<Long> reservedIds = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private ReactiveTransactionManager transactionManager;
+
+    public Mono<Task> findById(Long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tasks WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toTask(row))
+                .one();
+    }
+
+    public Mono<Boolean> existsByTitleAndDueDate(String title, LocalDate dueDate) {
+        if (title == null) {
+            return Mono.just(false);
+        }
+        return databaseClient.sql("SELECT id FROM tasks WHERE title = :title AND due_date = :dueDate LIMIT 1")
+                .bind("title", title)
+                .bind("dueDate", dueDate)
+                .map((row, metadata) -> row.get("id", Long.class))
+                .first()
+                .hasElement();
+    }
+
+    public Flux<Task> findAllOrderById() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tasks ORDER BY id ASC")
+                .map((row, metadata) -> toTask(row))
+                .all();
+    }
+
+    // Keyset streams for /tasks/sort, served by idx_tasks_priority_due_date_id and idx_tasks_due_date_id.
+    // afterDueDate/afterId and limit are optional; without a limit the whole range is streamed.
+    public Flux<TaskDTO> findByPriority(Priority priority, LocalDate afterDueDate, Long afterId, Integer limit) {
+        Map<String, Object> binds = new LinkedHashMap<>();
+        binds.put("priority", priority.name());
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM tasks WHERE priority = :priority");
+        appendAfter(sql, binds, afterDueDate, afterId, " AND ");
+        return query(sql, binds, limit);
+    }
+
+    public Flux<TaskDTO> findByDueDate(LocalDate afterDueDate, Long afterId, Integer limit) {
+        Map<String, Object> binds = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM tasks");
+        appendAfter(sql, binds, afterDueDate, afterId, " WHERE ");
+        return query(sql, binds, limit);
+    }
+
+    public Flux<TaskDTO> findOpenByPriority(Priority priority, int limit) {
+        Map<String, Object> binds = new LinkedHashMap<>();
+        binds.put("priority", priority.name());
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM tasks WHERE is_completed = false AND priority = :priority");
+        return query(sql, binds, limit);
+    }
+
+    public Flux<TaskDTO> findByCriteria(TaskFilterCriteria criteria, long offset, int limit) {
+        Map<String, Object> binds = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM tasks");
+        appendCriteria(sql, binds, criteria);
+        sql.append(" ORDER BY due_date ASC, id ASC LIMIT :limit OFFSET :offset");
+        binds.put("limit", limit);
+        binds.put("offset", offset);
+        return bindAll(databaseClient.sql(sql.toString()), binds)
+                .map((row, metadata) -> toDTO(row))
+                .all();
+    }
+
+    public Mono<Long> countByCriteria(TaskFilterCriteria criteria) {
+        Map<String, Object> binds = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) AS total FROM tasks");
+        appendCriteria(sql, binds, criteria);
+        return bindAll(databaseClient.sql(sql.toString()), binds)
+                .map((row, metadata) -> row.get("total", Long.class))
+                .one();
+    }
+
+    public Mono<Task> insert(Task task) {
+        return nextId().flatMap(id -> {
+            task.setId(id);
+            DatabaseClient.GenericExecuteSpec insert = bindTask(databaseClient.sql("INSERT INTO tasks (" + COLUMNS + ", tenant_id) " +
+                    "VALUES (:id, :title, :description, :priority, :dueDate, :completed, :version, :tenantId)"), task);
+            insert = task.getTenantId() == null ? insert.bindNull("tenantId", String.class) : insert.bind("tenantId", task.getTenantId());
+            return insert
+                    .fetch()
+                    .rowsUpdated()
+                    .thenReturn(task);
+        });
+    }
+
+    // Only applies if the row is still at the version the task was read with; bumps it on success.
+    public Mono<Boolean> update(Task task) {
+        return bindTask(databaseClient.sql("UPDATE tasks SET title = :title, description = :description, " +
+                "priority = :priority, due_date = :dueDate, is_completed = :completed, version = version + 1 " +
+                "WHERE id = :id AND version = :version"), task)
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> {
+                    if (rows == 0) {
+                        return false;
+                    }
+                    task.setVersion(task.getVersion() + 1);
+                    return true;
+                });
+    }
+
+    public Mono<Integer> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM tasks WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private Flux<TaskDTO> query(StringBuilder sql, Map<String, Object> binds, Integer limit) {
+        sql.append(" ORDER BY due_date ASC, id ASC");
+        if (limit != null) {
+            sql.append(" LIMIT :limit");
+            binds.put("limit", limit);
+        }
+        return bindAll(databaseClient.sql(sql.toString()), binds)
+                .map((row, metadata) -> toDTO(row))
+                .all();
+    }
+
+    private static void appendAfter(StringBuilder sql, Map<String, Object> binds, LocalDate afterDueDate, Long afterId, String keyword) {
+        if (afterDueDate == null || afterId == null) {
+            return;
+        }
+        sql.append(keyword).append("(due_date > :afterDueDate OR (due_date = :afterDueDate AND id > :afterId))");
+        binds.put("afterDueDate", afterDueDate);
+        binds.put("afterId", afterId);
+    }
+
+    private static void appendCriteria(StringBuilder sql, Map<String, Object> binds, TaskFilterCriteria criteria) {
+        StringBuilder where = new StringBuilder();
+        if (criteria.completed() != null) {
+            where.append(" AND is_completed = :completed");
+            binds.put("completed", criteria.completed());
+        }
+        if (criteria.priority() != null) {
+            where.append(" AND priority = :priority");
+            binds.put("priority", criteria.priority().name());
+        }
+        if (criteria.dueFrom() != null) {
+            where.append(" AND due_date >= :dueFrom");
+            binds.put("dueFrom", criteria.dueFrom());
+        }
+        if (criteria.dueTo() != null) {
+            where.append(" AND due_date <= :dueTo");
+            binds.put("dueTo", criteria.dueTo());
+        }
+        if (criteria.titlePrefix() != null) {
+            // '!' rather than backslash: backslash is itself an escape in MySQL string literals but not in H2.
+            where.append(" AND title LIKE :titlePrefix ESCAPE '!'");
+            binds.put("titlePrefix", escapeLike(criteria.titlePrefix()) + "%");
+        }
+        if (where.length() > 0) {
+            sql.append(" WHERE").append(where.substring(" AND".length()));
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindAll(DatabaseClient.GenericExecuteSpec spec, Map<String, Object> binds) {
+        for (Map.Entry<String, Object> bind : binds.entrySet()) {
+            spec = spec.bind(bind.getKey(), bind.getValue());
+        }
+        return spec;
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindTask(DatabaseClient.GenericExecuteSpec spec, Task task) {
+        spec = spec.bind("id", task.getId());
+        spec = task.getTitle() == null ? spec.bindNull("title", String.class) : spec.bind("title", task.getTitle());
+        spec = task.getDescription() == null ? spec.bindNull("description", String.class) : spec.bind("description", task.getDescription());
+        spec = task.getPriority() == null ? spec.bindNull("priority", String.class) : spec.bind("priority", task.getPriority().name());
+        spec = task.getDueDate() == null ? spec.bindNull("dueDate", LocalDate.class) : spec.bind("dueDate", task.getDueDate());
+        return spec.bind("completed", task.isCompleted())
+                .bind("version", task.getVersion());
+    }
+
+    private Mono<Long> nextId() {
+        Long reserved = reservedIds.poll();
+        if (reserved != null) {
+            return Mono.just(reserved);
+        }
+        return reserveIdBlock().map(hi -> {
+            long lo = Math.max(1, hi - ID_ALLOCATION_SIZE + 1);
+            for (long id = lo + 1; id <= hi; id++) {
+                reservedIds.add(id);
+            }
+            return lo;
+        });
+    }
+
+    // Returns the upper end of a fresh block, like Hibernate's pooled optimizer: a real sequence
+    // where the database has one (H2), otherwise the task_seq table Hibernate emulates it with (MySQL).
+    private Mono<Long> reserveIdBlock() {
+        if (!connectionFactory.getMetadata().getName().toLowerCase().contains("mysql")) {
+            return databaseClient.sql("SELECT NEXT VALUE FOR task_seq AS next_val")
+                    .map((row, metadata) -> row.get("next_val", Long.class))
+                    .one();
+        }
+        // Own transaction, so a rolled-back insert never returns ids that the JPA side could hand out again.
+        Mono<Long> reserve = databaseClient.sql("SELECT next_val FROM task_seq FOR UPDATE")
+                .map((row, metadata) -> row.get("next_val", Long.class))
+                .one()
+                .flatMap(current -> databaseClient.sql("UPDATE task_seq SET next_val = :next WHERE next_val = :current")
+                        .bind("next", current + ID_ALLOCATION_SIZE)
+                        .bind("current", current)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(current));
+        return TransactionalOperator.create(transactionManager, REQUIRES_NEW).transactional(reserve);
+    }
+
+    private static TaskDTO toDTO(Row row) {
+        String priority = row.get("priority", String.class);
+        return new TaskDTO(row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                priority == null ? null : Priority.valueOf(priority),
+                row.get("due_date", LocalDate.class),
+                row.get("is_completed", Boolean.class),
+                row.get("version", Long.class));
+    }
+
+    private static Task toTask(Row row) {
+        TaskDTO dto = toDTO(row);
+        return new Task(dto.getId(), dto.getTitle(), dto.getDescription(), dto.getPriority(), dto.getDueDate(),
+                Boolean.TRUE.equals(dto.getIsCompleted()), dto.getVersion() == null ? 0L : dto.getVersion());
+    }
+}
@@ -0,0 +1,11 @@
+package com.TaskPrioritizationAPI.repositories.specifications;
+
+import com.TaskPrioritizationAPI.models.Priority;
+
+import java.time.LocalDate;
+
+/**
+ * Validated filter for /tasks/filter. A null field means "any value"; dueFrom and dueTo are inclusive.
+ */
+public record TaskFilterCriteria(Boolean completed, Priority priority, LocalDate dueFrom, LocalDate dueTo, String titlePrefix) {
+}
@@ -0,0 +1,40 @@
+package com.TaskPrioritizationAPI.repositories.specifications;
+
+import com.TaskPrioritizationAPI.models.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(TaskFilterCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.completed() != null) {
+                predicates.add(cb.equal(root.get("isCompleted"), criteria.completed()));
+            }
+            if (criteria.priority() != null) {
+                predicates.add(cb.equal(root.get("priority"), criteria.priority()));
+            }
+            if (criteria.dueFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), criteria.dueFrom()));
+            }
+            if (criteria.dueTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("dueDate"), criteria.dueTo()));
+            }
+            if (criteria.titlePrefix() != null) {
+                predicates.add(cb.like(root.get("title"), escapeLike(criteria.titlePrefix()) + "%", '\\'));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,37 @@
+package com.TaskPrioritizationAPI.services;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.payload.request.TaskFilterRequest;
+import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.payload.response.BulkTaskResult;
+import com.TaskPrioritizationAPI.payload.response.TaskFilterPageResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link TaskService}, active with the "reactive" profile.
+ * Sorted and full listings are streamed with backpressure instead of being collected into a list.
+ */
+public interface ReactiveTaskService {
+
+    Mono<TaskDTO> createTask(TaskRequest taskRequest);
+
+    Flux<BulkTaskResult> createTasks(Flux<TaskRequest> taskRequests);
+
+    Flux<TaskDTO> getTasksSorted(String sort, String cursor, Integer limit);
+
+    Flux<TaskDTO> getNextTasks(Integer limit);
+
+    Mono<TaskFilterPageResponse> getTasksByFilter(TaskFilterRequest filterRequest, Integer page, Integer size);
+
+    Mono<Long> countTasksByFilter(TaskFilterRequest filterRequest);
+
+    Mono<TaskDTO> updateTask(Long id, TaskDTO taskDTO, Long expectedVersion);
+
+    Mono<Void> deleteTask(Long id);
+
+    Mono<Task> getTaskById(Long id);
+
+    Flux<Task> getAllTasks();
+}
@@ -2,16 +2,41 @@ package com.TaskPrioritizationAPI.services;
 
 import com.TaskPrioritizationAPI.dtos.TaskDTO;
 import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.payload.request.BulkTaskRequest;
+import com.TaskPrioritizationAPI.payload.request.TaskFilterRequest;
 import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.payload.response.BulkOperationResponse;
+import com.TaskPrioritizationAPI.payload.response.BulkTaskResult;
+import com.TaskPrioritizationAPI.payload.response.TaskFilterPageResponse;
+import com.TaskPrioritizationAPI.payload.response.TaskPageResponse;
+import com.TaskPrioritizationAPI.payload.response.TaskStatsResponse;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 
 public interface TaskService {
-    TaskDTO createTask(TaskRequest taskRequest);
-    List<TaskDTO> getTasksSorted(String sort);
-    List<TaskDTO> getTasksByFilter(String filter, String value);
-    TaskDTO updateTask(Long id, TaskDTO taskDTO);
+    TaskDTO createTask(TaskRequest taskRequest, String idempotencyKey);
+    default TaskDTO createTask(TaskRequest taskRequest) {
+        return createTask(taskRequest, null);
+    }
+    List<BulkTaskResult> createTasks(Iterator<TaskRequest> taskRequests);
+    TaskPageResponse getTasksSorted(String sort, String cursor, Integer limit);
+    List<TaskDTO> getNextTasks(Integer limit);
+    TaskFilterPageResponse getTasksByFilter(TaskFilterRequest filterRequest, Integer page, Integer size);
+    long countTasksByFilter(TaskFilterRequest filterRequest);
+    TaskFilterPageResponse searchTasks(String query, String priority, String completed, Integer page, Integer size);
+    TaskStatsResponse getTaskStats();
+    TaskDTO updateTask(Long id, TaskDTO taskDTO, Long expectedVersion);
+    default TaskDTO updateTask(Long id, TaskDTO taskDTO) {
+        return updateTask(id, taskDTO, null);
+    }
     void deleteTask(Long id);
+    BulkOperationResponse completeTasks(BulkTaskRequest request);
+    BulkOperationResponse deleteTasks(BulkTaskRequest request);
     Task getTaskById(Long id);
+    TaskPageResponse getArchivedTasks(String cursor, Integer limit);
     List<Task> getAllTasks();
+    void exportTasks(OutputStream outputStream) throws IOException;
 }
@@ -0,0 +1,179 @@
+package com.TaskPrioritizationAPI.services.impl;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.exceptions.TaskNotExistsException;
+import com.TaskPrioritizationAPI.exceptions.TaskUpdateConflictException;
+import com.TaskPrioritizationAPI.mappers.TaskMapper;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.payload.request.TaskCursor;
+import com.TaskPrioritizationAPI.payload.request.TaskFilterRequest;
+import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.payload.response.BulkTaskResult;
+import com.TaskPrioritizationAPI.payload.response.TaskFilterPageResponse;
+import com.TaskPrioritizationAPI.repositories.reactive.ReactiveTaskRepository;
+import com.TaskPrioritizationAPI.repositories.specifications.TaskFilterCriteria;
+import com.TaskPrioritizationAPI.services.ReactiveTaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.UPDATE_BACKOFF_MILLIS;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.UPDATE_MAX_ATTEMPTS;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.applyUpdate;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.duplicateTask;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.newTask;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.resolveCursor;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.resolvePageNumber;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.resolvePageSize;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.resolveSort;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.toFilterCriteria;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.updateConflict;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.validateTaskRequest;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.versionMismatch;
+
+@Service
+@Profile("reactive")
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+
+    @Autowired
+    private ReactiveTaskRepository reactiveTaskRepository;
+
+    @Override
+    @Transactional
+    public Mono<TaskDTO> createTask(TaskRequest taskRequest) {
+        return create(taskRequest);
+    }
+
+    @Override
+    public Flux<BulkTaskResult> createTasks(Flux<TaskRequest> taskRequests) {
+        // One at a time and in input order, so a duplicate later in the same request is still detected.
+        return taskRequests.index()
+                .concatMap(request -> create(request.getT2())
+                        .map(created -> BulkTaskResult.success(request.getT1().intValue(), created))
+                        .onErrorResume(e -> Mono.just(BulkTaskResult.failure(request.getT1().intValue(), e.getMessage()))));
+    }
+
+    private Mono<TaskDTO> create(TaskRequest taskRequest) {
+        return Mono.defer(() -> {
+            validateTaskRequest(taskRequest);
+            return reactiveTaskRepository.existsByTitleAndDueDate(taskRequest.title(), taskRequest.dueDate())
+                    .flatMap(exists -> exists
+                            ? Mono.<Task>error(duplicateTask(taskRequest))
+                            : reactiveTaskRepository.insert(newTask(taskRequest)))
+                    // The unique key on (title, due_date) catches a concurrent create of the same task.
+                    .onErrorMap(DataIntegrityViolationException.class, e -> duplicateTask(taskRequest))
+                    .map(TaskMapper::toDTO);
+        });
+    }
+
+    @Override
+    public Flux<TaskDTO> getTasksSorted(String sort, String cursor, Integer limit) {
+        return Flux.defer(() -> {
+            String normalizeSort = resolveSort(sort);
+            Integer maxTasks = resolveStreamLimit(limit);
+            TaskCursor after = resolveCursor(normalizeSort, cursor);
+            Flux<TaskDTO> tasks = normalizeSort.equals("priority")
+                    ? streamByPriority(after, maxTasks)
+                    : reactiveTaskRepository.findByDueDate(after == null ? null : after.dueDate(), after == null ? null : after.id(), maxTasks);
+            return maxTasks == null ? tasks : tasks.take(maxTasks);
+        });
+    }
+
+    private Flux<TaskDTO> streamByPriority(TaskCursor after, Integer limit) {
+        // Priority is stored by name, so ORDER BY priority would be alphabetical; concatenate the buckets in enum order.
+        // concatMap only opens the next bucket's query once the previous one has been fully consumed.
+        int start = (after == null) ? 0 : after.priority().ordinal();
+        return Flux.fromArray(Arrays.copyOfRange(Priority.values(), start, Priority.values().length))
+                .concatMap(priority -> after != null && priority == after.priority()
+                        ? reactiveTaskRepository.findByPriority(priority, after.dueDate(), after.id(), limit)
+                        : reactiveTaskRepository.findByPriority(priority, null, null, limit), 1);
+    }
+
+    // Unlike the paged servlet endpoint the stream has no default or maximum size; a limit only has to be positive.
+    private static Integer resolveStreamLimit(Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Invalid limit: " + limit + ". The limit must be a positive number.");
+        }
+        return limit;
+    }
+
+    @Override
+    public Flux<TaskDTO> getNextTasks(Integer limit) {
+        return Flux.defer(() -> {
+            int pageSize = resolvePageSize(limit);
+            return Flux.fromArray(Priority.values())
+                    .concatMap(priority -> reactiveTaskRepository.findOpenByPriority(priority, pageSize), 1)
+                    .take(pageSize);
+        });
+    }
+
+    @Override
+    public Mono<TaskFilterPageResponse> getTasksByFilter(TaskFilterRequest filterRequest, Integer page, Integer size) {
+        return Mono.defer(() -> {
+            TaskFilterCriteria criteria = toFilterCriteria(filterRequest);
+            int pageNumber = resolvePageNumber(page);
+            int pageSize = resolvePageSize(size);
+            return Mono.zip(reactiveTaskRepository.findByCriteria(criteria, (long) pageNumber * pageSize, pageSize).collectList(),
+                            reactiveTaskRepository.countByCriteria(criteria))
+                    .map(result -> new TaskFilterPageResponse(result.getT1(), pageNumber, pageSize, result.getT2(),
+                            (int) Math.ceil((double) result.getT2() / pageSize)));
+        });
+    }
+
+    @Override
+    public Mono<Long> countTasksByFilter(TaskFilterRequest filterRequest) {
+        return Mono.defer(() -> reactiveTaskRepository.countByCriteria(toFilterCriteria(filterRequest)));
+    }
+
+    @Override
+    public Mono<TaskDTO> updateTask(Long id, TaskDTO taskDto, Long expectedVersion) {
+        // Read and versioned UPDATE without a surrounding transaction, so a retry reads the latest committed row.
+        return reactiveTaskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Task not found with id: " + id)))
+                .flatMap(task -> {
+                    if (expectedVersion != null && task.getVersion() != expectedVersion) {
+                        return Mono.error(versionMismatch(id, task.getVersion(), expectedVersion));
+                    }
+                    long readVersion = task.getVersion();
+                    applyUpdate(task, taskDto);
+                    return reactiveTaskRepository.update(task)
+                            .flatMap(updated -> updated
+                                    ? Mono.just(TaskMapper.toDTO(task))
+                                    : Mono.<TaskDTO>error(expectedVersion != null
+                                            ? versionMismatch(id, readVersion + 1, expectedVersion)
+                                            : updateConflict(id)));
+                })
+                .retryWhen(Retry.backoff(UPDATE_MAX_ATTEMPTS - 1, Duration.ofMillis(UPDATE_BACKOFF_MILLIS))
+                        .filter(TaskUpdateConflictException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    @Override
+    @Transactional
+    public Mono<Void> deleteTask(Long id) {
+        return reactiveTaskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new TaskNotExistsException("Task not found with id: " + id)))
+                .flatMap(task -> reactiveTaskRepository.deleteById(id))
+                .then();
+    }
+
+    @Override
+    public Mono<Task> getTaskById(Long id) {
+        return reactiveTaskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new TaskNotExistsException("Task not found with id: " + id)));
+    }
+
+    @Override
+    public Flux<Task> getAllTasks() {
+        return reactiveTaskRepository.findAllOrderById();
+    }
+}
@@ -0,0 +1,246 @@
+package com.TaskPrioritizationAPI.services.impl;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.exceptions.InvalidTaskDateException;
+import com.TaskPrioritizationAPI.exceptions.TaskAlreadyExistsException;
+import com.TaskPrioritizationAPI.exceptions.TaskUpdateConflictException;
+import com.TaskPrioritizationAPI.exceptions.TaskVersionMismatchException;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.payload.request.BulkTaskRequest;
+import com.TaskPrioritizationAPI.payload.request.TaskCursor;
+import com.TaskPrioritizationAPI.payload.request.TaskFilterRequest;
+import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.repositories.specifications.TaskFilterCriteria;
+import com.TaskPrioritizationAPI.sharding.TenantContext;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.TaskPrioritizationAPI.utils.InputUtils.isValidDate;
+import static com.TaskPrioritizationAPI.utils.InputUtils.normalize;
+
+/**
+ * Validation, priority and update rules shared by the servlet and reactive task services,
+ * so both answer the same request with the same result and the same error message.
+ */
+final class TaskRules {
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+    // Optimistic-lock retries when no If-Match was sent: 5, 10, 20, 40 ms plus jitter.
+    static final int UPDATE_MAX_ATTEMPTS = 5;
+    static final long UPDATE_BACKOFF_MILLIS = 5;
+    static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private TaskRules() {
+    }
+
+    static void validateTaskRequest(TaskRequest taskRequest) {
+        if (taskRequest.dueDate() == null) {
+            throw new InvalidTaskDateException("The due date is required.");
+        }
+        if (taskRequest.dueDate().isBefore(LocalDate.now())) {
+            throw new InvalidTaskDateException("The due date cannot be in the past: " + taskRequest.dueDate());
+        }
+        if (!isValidDate(taskRequest.dueDate().toString())) {
+            throw new InvalidTaskDateException("Invalid date format. Please use yyyy-MM-dd.");
+        }
+        if (!"true".equalsIgnoreCase(String.valueOf(taskRequest.isCritical())) && !"false".equalsIgnoreCase(String.valueOf(taskRequest.isCritical()))) {
+            throw new IllegalArgumentException("Invalid value for critical status. Use true or false.");
+        }
+    }
+
+    static Task newTask(TaskRequest taskRequest) {
+        Task task = new Task();
+        task.setTitle(taskRequest.title());
+        task.setDescription(taskRequest.description());
+        task.setPriority(calculatePriority(taskRequest.dueDate(), taskRequest.isCritical()));
+        task.setDueDate(taskRequest.dueDate());
+        task.setCompleted(false);
+        task.setTenantId(tenantOf(taskRequest));
+        return task;
+    }
+
+    static String tenantOf(TaskRequest taskRequest) {
+        String tenantId = taskRequest.tenantId();
+        return (tenantId == null || tenantId.isBlank()) ? TenantContext.getTenant() : tenantId.trim();
+    }
+
+    static TaskAlreadyExistsException duplicateTask(TaskRequest taskRequest) {
+        return duplicateTask(taskRequest.title(), taskRequest.dueDate());
+    }
+
+    static TaskAlreadyExistsException duplicateTask(String title, LocalDate dueDate) {
+        return new TaskAlreadyExistsException(
+                "A task with the same title and due date already exists: title:" + title + " date: " + dueDate
+        );
+    }
+
+    /** The Idempotency-Key header, or null when none was sent. */
+    static String resolveIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return null;
+        }
+        String key = idempotencyKey.trim();
+        if (key.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must not be longer than " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters.");
+        }
+        return key;
+    }
+
+    static TaskVersionMismatchException versionMismatch(Long id, long actual, long expected) {
+        return new TaskVersionMismatchException("Task " + id + " is at version " + actual + ", not " + expected + ". Reload it and retry with the new ETag.");
+    }
+
+    static TaskUpdateConflictException updateConflict(Long id) {
+        return new TaskUpdateConflictException("Task " + id + " is being updated concurrently and the update could not be applied after " + UPDATE_MAX_ATTEMPTS + " attempts.");
+    }
+
+    static Priority calculatePriority(LocalDate dueDate, boolean isCritical) {
+        if (isCritical) {
+            return Priority.HIGH;
+        }
+        if (dueDate.isBefore(LocalDate.now().plusDays(Priority.HIGH_PRIORITY_WINDOW_DAYS))) {
+            return Priority.HIGH;
+        } else if (dueDate.isBefore(LocalDate.now().plusDays(Priority.MEDIUM_PRIORITY_WINDOW_DAYS))) {
+            return Priority.MEDIUM;
+        } else {
+            return Priority.LOW;
+        }
+    }
+
+    static void applyUpdate(Task task, TaskDTO taskDto) {
+        if (taskDto.getTitle() != null) {
+            task.setTitle(taskDto.getTitle());
+        }
+        if (taskDto.getDescription() != null) {
+            task.setDescription(taskDto.getDescription());
+        }
+        if (taskDto.getDueDate() != null) {
+            if (!isValidDate(taskDto.getDueDate().toString())) {
+                throw new InvalidTaskDateException("Invalid date format. Please use yyyy-MM-dd.");
+            } else if (taskDto.getDueDate().isBefore(LocalDate.now())) {
+                throw new InvalidTaskDateException("The due date cannot be in the past: " + taskDto.getDueDate());
+            }
+            task.setDueDate(taskDto.getDueDate());
+        }
+        if (taskDto.getPriority() != null) {
+            if (taskDto.getIsCompleted()) {
+                task.setPriority(Priority.LOW);
+            } else {
+                task.setPriority(taskDto.getPriority());
+            }
+        }
+        if (taskDto.getIsCompleted() != null) {
+            if (!"true".equalsIgnoreCase(String.valueOf(taskDto.getIsCompleted())) && !"false".equalsIgnoreCase(String.valueOf(taskDto.getIsCompleted()))) {
+                throw new IllegalArgumentException("Invalid value for critical status. Use true or false.");
+            }
+            task.setCompleted(taskDto.getIsCompleted());
+            if (taskDto.getIsCompleted()) {
+                task.setPriority(Priority.LOW);
+            }
+        }
+    }
+
+    static String resolveSort(String sort) {
+        String normalizeSort = normalize(sort);
+        if (normalizeSort.isEmpty()) {
+            normalizeSort = "priority";
+        }
+        if (!normalizeSort.equals("priority") && !normalizeSort.equals("date")) {
+            throw new IllegalArgumentException("Unsupported sort option: " + normalizeSort + "Supported sort options are 'priority' or 'date'.");
+        }
+        return normalizeSort;
+    }
+
+    static TaskCursor resolveCursor(String sort, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        TaskCursor after = TaskCursor.decode(cursor);
+        if (!sort.equals(after.sort())) {
+            throw new IllegalArgumentException("Cursor was issued for sort '" + after.sort() + "', not '" + sort + "'.");
+        }
+        if (sort.equals("priority") && after.priority() == null) {
+            throw new IllegalArgumentException("Invalid cursor: a priority-sort cursor must carry a priority.");
+        }
+        return after;
+    }
+
+    static int resolvePageNumber(Integer page) {
+        if (page == null) {
+            return 0;
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Invalid page: " + page + ". The page must not be negative.");
+        }
+        return page;
+    }
+
+    static int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Invalid limit: " + limit + ". The limit must be a positive number.");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    static TaskFilterCriteria toFilterCriteria(TaskFilterRequest filterRequest) {
+        String completedValue = filterRequest.completed();
+        String priorityValue = filterRequest.priority();
+        if (filterRequest.filter() != null) {
+            String normalizeFilter = normalize(filterRequest.filter());
+            switch (normalizeFilter.toLowerCase()) {
+                case "completed" -> completedValue = filterRequest.value();
+                case "priority" -> priorityValue = filterRequest.value();
+                default -> throw new IllegalArgumentException("Unsupported filter: " + normalizeFilter + ". Supported filters are 'completed' or 'priority'.");
+            }
+        }
+
+        Boolean completed = null;
+        if (completedValue != null) {
+            String normalizeValue = normalize(completedValue);
+            if (!"true".equalsIgnoreCase(normalizeValue) && !"false".equalsIgnoreCase(normalizeValue)) {
+                throw new IllegalArgumentException("Invalid value for completed filter. Use true or false.");
+            }
+            completed = Boolean.parseBoolean(normalizeValue);
+        }
+        Priority priority = null;
+        if (priorityValue != null) {
+            String normalizeValue = normalize(priorityValue);
+            if (!"HIGH".equalsIgnoreCase(normalizeValue) && !"MEDIUM".equalsIgnoreCase(normalizeValue) && !"LOW".equalsIgnoreCase(normalizeValue)) {
+                throw new IllegalArgumentException("Invalid value for priority filter. Use high, medium or low.");
+            }
+            priority = Priority.valueOf(normalizeValue.toUpperCase());
+        }
+        if (filterRequest.dueFrom() != null && filterRequest.dueTo() != null && filterRequest.dueFrom().isAfter(filterRequest.dueTo())) {
+            throw new IllegalArgumentException("Invalid due date range: dueFrom " + filterRequest.dueFrom() + " is after dueTo " + filterRequest.dueTo());
+        }
+        String titlePrefix = (filterRequest.titlePrefix() == null || filterRequest.titlePrefix().isBlank()) ? null : filterRequest.titlePrefix();
+        return new TaskFilterCriteria(completed, priority, filterRequest.dueFrom(), filterRequest.dueTo(), titlePrefix);
+    }
+
+    /** The filter of a bulk request, or null when the request names ids instead. */
+    static TaskFilterCriteria toBulkCriteria(BulkTaskRequest request) {
+        List<Long> ids = (request == null) ? null : request.ids();
+        boolean hasIds = ids != null && !ids.isEmpty();
+        boolean hasFilter = request != null && request.filter() != null;
+        if (hasIds == hasFilter) {
+            throw new IllegalArgumentException(hasIds ? "Send either ids or a filter, not both." : "Send the ids or a filter of the tasks.");
+        }
+        if (hasIds) {
+            if (ids.contains(null)) {
+                throw new IllegalArgumentException("Task ids must not be empty.");
+            }
+            return null;
+        }
+        TaskFilterCriteria criteria = toFilterCriteria(request.filter());
+        if (criteria.equals(new TaskFilterCriteria(null, null, null, null, null))) {
+            throw new IllegalArgumentException("The filter matches every task. Narrow it down or send the ids.");
+        }
+        return criteria;
+    }
+}
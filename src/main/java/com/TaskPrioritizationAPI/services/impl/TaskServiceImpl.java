@@ -1,182 +1,786 @@
 package com.TaskPrioritizationAPI.services.impl;
 
+import com.TaskPrioritizationAPI.cache.SingleFlight;
+import com.TaskPrioritizationAPI.cache.TaskCache;
+import com.TaskPrioritizationAPI.changes.TaskChangeFeed;
 import com.TaskPrioritizationAPI.dtos.TaskDTO;
-import com.TaskPrioritizationAPI.exceptions.InvalidTaskDateException;
-import com.TaskPrioritizationAPI.exceptions.TaskAlreadyExistsException;
 import com.TaskPrioritizationAPI.exceptions.TaskNotExistsException;
+import com.TaskPrioritizationAPI.exceptions.TaskVersionMismatchException;
+import com.TaskPrioritizationAPI.idempotency.IdempotencyStore;
+import com.TaskPrioritizationAPI.index.TaskKeyFilter;
+import com.TaskPrioritizationAPI.index.TaskPriorityIndex;
+import com.TaskPrioritizationAPI.index.TaskSearchIndex;
 import com.TaskPrioritizationAPI.mappers.TaskMapper;
+import com.TaskPrioritizationAPI.models.ArchivedTask;
 import com.TaskPrioritizationAPI.models.Priority;
 import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.models.TaskChangeType;
+import com.TaskPrioritizationAPI.payload.request.BulkTaskRequest;
+import com.TaskPrioritizationAPI.payload.request.TaskCursor;
+import com.TaskPrioritizationAPI.payload.request.TaskFilterRequest;
 import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.payload.response.BulkOperationResponse;
+import com.TaskPrioritizationAPI.payload.response.BulkTaskResult;
+import com.TaskPrioritizationAPI.payload.response.TaskFilterPageResponse;
+import com.TaskPrioritizationAPI.payload.response.TaskPageResponse;
+import com.TaskPrioritizationAPI.payload.response.TaskStatsResponse;
+import com.TaskPrioritizationAPI.repositories.ArchivedTaskRepository;
 import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.repositories.specifications.TaskFilterCriteria;
+import com.TaskPrioritizationAPI.repositories.specifications.TaskSpecifications;
+import com.TaskPrioritizationAPI.replicas.ReplicaContext;
 import com.TaskPrioritizationAPI.services.TaskService;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import com.TaskPrioritizationAPI.sharding.TenantContext;
+import com.TaskPrioritizationAPI.stats.TaskStatistics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.UPDATE_BACKOFF_MILLIS;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.UPDATE_MAX_ATTEMPTS;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.applyUpdate;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.duplicateTask;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.newTask;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.resolveCursor;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.resolveIdempotencyKey;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.resolvePageNumber;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.resolvePageSize;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.resolveSort;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.toBulkCriteria;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.tenantOf;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.toFilterCriteria;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.updateConflict;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.validateTaskRequest;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.versionMismatch;
 
 @Service
+@Profile("!reactive")
 public class TaskServiceImpl implements TaskService {
 
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+    private static final int BULK_CHUNK_SIZE = 1000;
+    private static final Sort FILTER_ORDER = Sort.by("dueDate", "id");
+    // In-memory equivalents of the SQL orderings, for merging pages from several shards.
+    private static final Comparator<TaskDTO> DATE_ORDER = Comparator
+            .comparing(TaskDTO::getDueDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(TaskDTO::getId);
+    private static final Comparator<TaskDTO> PRIORITY_ORDER = Comparator.comparing(TaskDTO::getPriority).thenComparing(DATE_ORDER);
+    // Each shard returns (page + 1) * size rows for a sharded filter page, so deep pages are capped.
+    private static final int MAX_SHARDED_FILTER_WINDOW = 100_000;
+    private static final String ARCHIVE_SORT = "archive";
+    private static final String SERVICE_TIMER = "task.service";
+    private static final String ROWS_SUMMARY = "task.query.rows";
+    private static final String UPDATE_CONFLICTS_COUNTER = "task.update.conflicts";
+    private static final String COALESCED_COUNTER = "task.reads.coalesced";
+
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TaskPriorityIndex taskPriorityIndex;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskKeyFilter taskKeyFilter;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    @Autowired
+    private TaskChangeFeed taskChangeFeed;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Only present with task.write-behind.enabled=true.
+    @Autowired(required = false)
+    private TaskWriteBehindQueue taskWriteBehindQueue;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Identical reads that arrive while one is running share its result instead of querying again.
+    private final SingleFlight<ReadKey, TaskPageResponse> sortedReads = new SingleFlight<>(() -> recordCoalesced("sort"));
+    private final SingleFlight<ReadKey, TaskFilterPageResponse> filterReads = new SingleFlight<>(() -> recordCoalesced("filter"));
+    private final SingleFlight<ReadKey, Long> countReads = new SingleFlight<>(() -> recordCoalesced("count"));
+
+    /**
+     * The duplicate lookup is skipped when the key filter knows the title and due date are new; the unique
+     * key on the table is what finally rejects a duplicate. With an idempotency key, a retry of a create
+     * that went through gets the task it created.
+     */
     @Override
-    public TaskDTO createTask(TaskRequest taskRequest) {
-        if (taskRequest.dueDate().isBefore(LocalDate.now())) {
-            throw new InvalidTaskDateException("The due date cannot be in the past: " + taskRequest.dueDate());
-        }
-        if (taskRepository.findByTitleAndDueDate(taskRequest.title(), taskRequest.dueDate()).isPresent()) {
-            throw new TaskAlreadyExistsException(
-                    "A task with the same title and due date already exists: title:" + taskRequest.title() + " date: " + taskRequest.dueDate()
-            );
+    @Timed(value = SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+    public TaskDTO createTask(TaskRequest taskRequest, String idempotencyKey) {
+        validateTaskRequest(taskRequest);
+        String key = resolveIdempotencyKey(idempotencyKey);
+        CreatedTask result = taskShards.onShard(taskShards.shardOfTenant(tenantOf(taskRequest)), () -> {
+            TaskDTO replayed = (key == null) ? null : idempotencyStore.find(key, taskRequest);
+            if (replayed != null) {
+                return new CreatedTask(null, replayed);
+            }
+            boolean checked = taskKeyFilter.mightExist(taskRequest.title(), taskRequest.dueDate());
+            if (checked) {
+                boolean exists = taskRepository.findByTitleAndDueDate(taskRequest.title(), taskRequest.dueDate()).isPresent();
+                taskKeyFilter.recordLookup(exists);
+                if (exists) {
+                    throw duplicateTask(taskRequest);
+                }
+            }
+            Task task = newTask(taskRequest);
+            try {
+                return transactionTemplate.execute(status -> {
+                    taskRepository.saveAndFlush(task);
+                    TaskDTO created = TaskMapper.toDTO(task);
+                    taskChangeFeed.record(TaskChangeType.CREATED, created);
+                    if (key != null) {
+                        idempotencyStore.remember(key, taskRequest, created);
+                    }
+                    return new CreatedTask(task, created);
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Either a concurrent retry with the same key won, or someone else created the same task.
+                replayed = (key == null) ? null : idempotencyStore.find(key, taskRequest);
+                if (replayed != null) {
+                    return new CreatedTask(null, replayed);
+                }
+                if (!checked) {
+                    taskKeyFilter.recordMissed();
+                }
+                throw duplicateTask(taskRequest);
+            }
+        });
+        if (result.task() == null) {
+            return result.created();
         }
-        if (!isValidDate(taskRequest.dueDate().toString())) {
-            throw new InvalidTaskDateException("Invalid date format. Please use yyyy-MM-dd.");
+        Task task = result.task();
+        taskKeyFilter.put(task.getTitle(), task.getDueDate());
+        taskPriorityIndex.put(task);
+        taskSearchIndex.put(task);
+        taskCache.evict(task.getId(), result.created());
+        taskStatistics.recordCreated(result.created());
+        return result.created();
+    }
+
+    // task is null when the response was replayed for an idempotency key.
+    private record CreatedTask(Task task, TaskDTO created) {
+    }
+
+    @Override
+    @Timed(value = SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+    public List<BulkTaskResult> createTasks(Iterator<TaskRequest> taskRequests) {
+        List<BulkTaskResult> results = new ArrayList<>();
+        List<TaskRequest> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+        while (taskRequests.hasNext()) {
+            chunk.add(taskRequests.next());
+            if (chunk.size() == BULK_CHUNK_SIZE) {
+                results.addAll(createChunk(chunk, results.size()));
+                chunk.clear();
+            }
         }
-        if (!"true".equalsIgnoreCase(String.valueOf(taskRequest.isCritical())) && !"false".equalsIgnoreCase(String.valueOf(taskRequest.isCritical()))) {
-            throw new IllegalArgumentException("Invalid value for critical status. Use true or false.");
+        if (!chunk.isEmpty()) {
+            results.addAll(createChunk(chunk, results.size()));
         }
-        Task task = new Task();
-        task.setTitle(taskRequest.title());
-        task.setDescription(taskRequest.description());
-        task.setPriority(calculatePriority(taskRequest.dueDate(), taskRequest.isCritical()));
-        task.setDueDate(taskRequest.dueDate());
-        task.setCompleted(false);
-        taskRepository.save(task);
-        return TaskMapper.toDTO(task);
+        return results;
     }
 
-    @Override
-    public List<TaskDTO> getTasksSorted(String sort) {
-        List<Task> tasks = taskRepository.findAll();
-        String normalizeSort = normalize(sort);
-        if (normalizeSort.isEmpty() || normalizeSort.equals("priority")) {
-            tasks.sort(Comparator.comparing(Task::getPriority).thenComparing(Task::getDueDate));
-        } else if (normalizeSort.equals("date")) {
-            tasks.sort(Comparator.comparing(Task::getDueDate));
-        } else {
-            throw new IllegalArgumentException("Unsupported sort option: " + normalizeSort + "Supported sort options are 'priority' or 'date'.");
+    private List<BulkTaskResult> createChunk(List<TaskRequest> chunk, int offset) {
+        // One set-based lookup per chunk for the keys the filter cannot rule out; it may return extra
+        // (title, dueDate) pairs, which is harmless.
+        Set<String> knownKeys = new HashSet<>();
+        Set<String> checkedKeys = new HashSet<>();
+        Set<String> titles = new HashSet<>();
+        Set<LocalDate> dueDates = new HashSet<>();
+        for (TaskRequest request : chunk) {
+            if (request != null && request.title() != null && request.dueDate() != null
+                    && taskKeyFilter.mightExist(request.title(), request.dueDate())) {
+                checkedKeys.add(taskKey(request.title(), request.dueDate()));
+                titles.add(request.title());
+                dueDates.add(request.dueDate());
+            }
+        }
+        if (!titles.isEmpty()) {
+            taskRepository.findKeysByTitleInAndDueDateIn(titles, dueDates)
+                    .forEach(existing -> knownKeys.add(taskKey(existing.getTitle(), existing.getDueDate())));
+            checkedKeys.forEach(checkedKey -> taskKeyFilter.recordLookup(knownKeys.contains(checkedKey)));
         }
 
-        return tasks.stream().map(TaskMapper::toDTO).collect(Collectors.toList());
+        BulkTaskResult[] results = new BulkTaskResult[chunk.size()];
+        Map<Integer, Task> pending = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            TaskRequest request = chunk.get(i);
+            try {
+                if (request == null) {
+                    throw new IllegalArgumentException("Task request must not be empty.");
+                }
+                validateTaskRequest(request);
+                // A chunk is written in one transaction, so every task in it has to live on the request's shard.
+                if (taskShards.shardOfTenant(tenantOf(request)) != TenantContext.currentShard()) {
+                    throw new IllegalArgumentException("Tenant " + tenantOf(request) + " is stored on another shard than tenant "
+                            + TenantContext.getTenant() + "; send its tasks in a separate request.");
+                }
+                if (!knownKeys.add(taskKey(request.title(), request.dueDate()))) {
+                    throw duplicateTask(request);
+                }
+                pending.put(i, newTask(request));
+            } catch (RuntimeException e) {
+                results[i] = BulkTaskResult.failure(offset + i, e.getMessage());
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            try {
+                transactionTemplate.execute(status -> {
+                    taskRepository.saveAll(pending.values());
+                    taskRepository.flush();
+                    taskChangeFeed.recordAll(TaskChangeType.CREATED, pending.values().stream().map(TaskMapper::toDTO).toList());
+                    entityManager.clear();
+                    return null;
+                });
+                pending.forEach((i, task) -> {
+                    taskKeyFilter.put(task.getTitle(), task.getDueDate());
+                    taskPriorityIndex.put(task);
+                    taskSearchIndex.put(task);
+                    TaskDTO created = TaskMapper.toDTO(task);
+                    taskCache.evict(task.getId(), created);
+                    taskStatistics.recordCreated(created);
+                    results[i] = BulkTaskResult.success(offset + i, created);
+                });
+            } catch (DataIntegrityViolationException e) {
+                // A task in the chunk was created concurrently; the chunk is rolled back as a whole.
+                pending.keySet().forEach(i -> results[i] = BulkTaskResult.failure(offset + i,
+                        "A task in this chunk was created concurrently with the same title and due date. Retry the chunk."));
+            } catch (RuntimeException e) {
+                pending.keySet().forEach(i -> results[i] = BulkTaskResult.failure(offset + i, e.getMessage()));
+            }
+        }
+        return Arrays.asList(results);
     }
 
+    private static String taskKey(String title, LocalDate dueDate) {
+        return title + "|" + dueDate;
+    }
 
+    /** With sharding, every shard returns its own next page and the pages are merged in sort order. */
     @Override
-    public List<TaskDTO> getTasksByFilter(String filter, String value) {
-        String normalizeFilter = normalize(filter);
-        String normalizeValue = normalize(value);
+    @Timed(value = SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+    public TaskPageResponse getTasksSorted(String sort, String cursor, Integer limit) {
+        String normalizeSort = resolveSort(sort);
+        int pageSize = resolvePageSize(limit);
+        TaskCursor after = resolveCursor(normalizeSort, cursor);
+
+        TaskPageResponse response = sortedReads.execute(readKey(normalizeSort, cursor, pageSize), () -> {
+            boolean byPriority = normalizeSort.equals("priority");
+            List<List<TaskDTO>> shardPages = taskShards.readEachShard(() -> byPriority
+                    ? findPageByPriority(after, pageSize)
+                    : findPageByDate(after, pageSize));
+            List<TaskDTO> tasks = mergePages(shardPages, byPriority ? PRIORITY_ORDER : DATE_ORDER, pageSize);
 
-        if (!"completed".equalsIgnoreCase(normalizeFilter) && !"priority".equalsIgnoreCase(normalizeFilter)) {
-            throw new IllegalArgumentException("Unsupported filter: " + normalizeFilter + ". Supported filters are 'completed' or 'priority'.");
+            String nextCursor = null;
+            if (tasks.size() == pageSize) {
+                TaskDTO last = tasks.get(tasks.size() - 1);
+                nextCursor = new TaskCursor(normalizeSort, last.getPriority(), last.getDueDate(), last.getId()).encode();
+            }
+            return new TaskPageResponse(tasks, nextCursor);
+        });
+        recordRows("sort", response.tasks().size());
+        return response;
+    }
+
+    @Override
+    @Timed(value = SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+    public List<TaskDTO> getNextTasks(Integer limit) {
+        List<TaskDTO> tasks = taskPriorityIndex.top(resolvePageSize(limit));
+        recordRows("next", tasks.size());
+        return tasks;
+    }
+
+    private List<TaskDTO> findPageByPriority(TaskCursor after, int pageSize) {
+        // Priority is stored by name, so ORDER BY priority would be alphabetical; walk the buckets in enum order instead.
+        List<TaskDTO> tasks = new ArrayList<>(pageSize);
+        Priority[] priorities = Priority.values();
+        int start = (after == null) ? 0 : after.priority().ordinal();
+        for (int i = start; i < priorities.length && tasks.size() < pageSize; i++) {
+            Pageable pageable = PageRequest.of(0, pageSize - tasks.size());
+            if (after != null && i == start) {
+                tasks.addAll(taskRepository.findPageByPriorityAfter(priorities[i], after.dueDate(), after.id(), pageable));
+            } else {
+                tasks.addAll(taskRepository.findPageByPriority(priorities[i], pageable));
+            }
         }
-        List<Task> tasks = switch (normalizeFilter.toLowerCase()) {
-            case "completed" -> {
-                if (!"true".equalsIgnoreCase(normalizeValue) && !"false".equalsIgnoreCase(normalizeValue)) {
-                    throw new IllegalArgumentException("Invalid value for completed filter. Use true or false.");
-                }
-                boolean isCompleted = Boolean.parseBoolean(normalizeValue);
-                yield taskRepository.findByIsCompleted(isCompleted);
+        return tasks;
+    }
+
+    private List<TaskDTO> findPageByDate(TaskCursor after, int pageSize) {
+        Pageable pageable = PageRequest.of(0, pageSize);
+        if (after == null) {
+            return taskRepository.findPageByDueDate(pageable);
+        }
+        return taskRepository.findPageByDueDateAfter(after.dueDate(), after.id(), pageable);
+    }
+
+    // k-way merge of pages that are each already in order, keeping the first limit tasks.
+    private static List<TaskDTO> mergePages(List<List<TaskDTO>> pages, Comparator<TaskDTO> order, int limit) {
+        if (pages.size() == 1) {
+            return pages.get(0);
+        }
+        PriorityQueue<PagePosition> heads = new PriorityQueue<>((a, b) -> order.compare(a.current(), b.current()));
+        for (List<TaskDTO> page : pages) {
+            if (!page.isEmpty()) {
+                heads.add(new PagePosition(page, 0));
             }
-            case "priority" -> {
-                if (!"HIGH".equalsIgnoreCase(normalizeValue) && !"MEDIUM".equalsIgnoreCase(normalizeValue) && !"LOW".equalsIgnoreCase(normalizeValue)) {
-                    throw new IllegalArgumentException("Invalid value for priority filter. Use high, medium or low.");
-                }
-                Priority priority = Priority.valueOf(normalizeValue.toUpperCase());
-                yield taskRepository.findByPriority(priority);
+        }
+        List<TaskDTO> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            PagePosition head = heads.poll();
+            merged.add(head.current());
+            if (head.index() + 1 < head.page().size()) {
+                heads.add(new PagePosition(head.page(), head.index() + 1));
             }
-            default -> throw new IllegalArgumentException("Unsupported filter: " + normalizeFilter);
-        };
-        return tasks.stream().map(TaskMapper::toDTO).collect(Collectors.toList());
+        }
+        return merged;
+    }
+
+    private record PagePosition(List<TaskDTO> page, int index) {
+        TaskDTO current() {
+            return page.get(index);
+        }
+    }
+
+    private void recordRows(String query, int rows) {
+        meterRegistry.summary(ROWS_SUMMARY, "query", query).record(rows);
+    }
+
+    private void recordCoalesced(String query) {
+        meterRegistry.counter(COALESCED_COUNTER, "query", query).increment();
+    }
+
+    // A request kept on the primary for read-your-writes must not get the result of a replica read.
+    private static ReadKey readKey(Object query, Object position, int size) {
+        return new ReadKey(query, position, size, ReplicaContext.isReplicaReadAllowed());
+    }
+
+    private record ReadKey(Object query, Object position, int size, boolean replicaRead) {
     }
 
     @Override
-    public TaskDTO updateTask(Long id, TaskDTO taskDto) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + id));
+    @Timed(value = SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+    public TaskFilterPageResponse getTasksByFilter(TaskFilterRequest filterRequest, Integer page, Integer size) {
+        TaskFilterCriteria criteria = toFilterCriteria(filterRequest);
+        int pageNumber = resolvePageNumber(page);
+        int pageSize = resolvePageSize(size);
+        TaskFilterPageResponse cached = taskCache.getFilterPage(criteria, pageNumber, pageSize);
+        if (cached != null) {
+            recordRows("filter", cached.tasks().size());
+            return cached;
+        }
+        TaskFilterPageResponse response = filterReads.execute(readKey(criteria, pageNumber, pageSize), () -> {
+            long generation = taskCache.filterGeneration(criteria);
+            Page<TaskDTO> tasks = findFilterPage(TaskSpecifications.matching(criteria), pageNumber, pageSize);
+            TaskFilterPageResponse filterPage = new TaskFilterPageResponse(
+                    tasks.getContent(), pageNumber, pageSize, tasks.getTotalElements(), tasks.getTotalPages());
+            taskCache.putFilterPage(criteria, generation, pageNumber, pageSize, filterPage);
+            return filterPage;
+        });
+        recordRows("filter", response.tasks().size());
+        return response;
+    }
 
-        if (taskDto.getTitle() != null) {
-            task.setTitle(taskDto.getTitle());
+    private Page<TaskDTO> findFilterPage(Specification<Task> specification, int pageNumber, int pageSize) {
+        if (taskShards.count() == 1) {
+            return taskShards.readEachShard(() ->
+                    taskRepository.findDTOs(specification, PageRequest.of(pageNumber, pageSize, FILTER_ORDER))).get(0);
         }
-        if (taskDto.getDescription() != null) {
-            task.setDescription(taskDto.getDescription());
+        // Offset paging across shards: the page can only be cut from the merged first (page + 1) * size rows.
+        long window = (long) (pageNumber + 1) * pageSize;
+        if (window > MAX_SHARDED_FILTER_WINDOW) {
+            throw new IllegalArgumentException("Page " + pageNumber + " is too deep to page across shards. Narrow the filter or use /tasks/sort.");
         }
-        if (taskDto.getDueDate() != null) {
-            if (!isValidDate(taskDto.getDueDate().toString())) {
-                throw new InvalidTaskDateException("Invalid date format. Please use yyyy-MM-dd.");
-            } else if (taskDto.getDueDate().isBefore(LocalDate.now())) {
-                throw new InvalidTaskDateException("The due date cannot be in the past: " + taskDto.getDueDate());
-            }
-            task.setDueDate(taskDto.getDueDate());
+        List<Page<TaskDTO>> pages = taskShards.readEachShard(() ->
+                taskRepository.findDTOs(specification, PageRequest.of(0, (int) window, FILTER_ORDER)));
+        List<TaskDTO> merged = mergePages(pages.stream().map(Page::getContent).toList(), DATE_ORDER, (int) window);
+        List<TaskDTO> content = merged.subList(Math.min(pageNumber * pageSize, merged.size()), merged.size());
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+        return new PageImpl<>(content, PageRequest.of(pageNumber, pageSize, FILTER_ORDER), total);
+    }
+
+    @Override
+    @Timed(value = SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+    public long countTasksByFilter(TaskFilterRequest filterRequest) {
+        TaskFilterCriteria criteria = toFilterCriteria(filterRequest);
+        Long cached = taskCache.getFilterCount(criteria);
+        if (cached != null) {
+            return cached;
         }
-        if (taskDto.getPriority() != null) {
-            if (taskDto.getIsCompleted()) {
-                task.setPriority(Priority.LOW);
-            } else {
-                task.setPriority(taskDto.getPriority());
+        return countReads.execute(readKey(criteria, null, 0), () -> {
+            long generation = taskCache.filterGeneration(criteria);
+            Specification<Task> specification = TaskSpecifications.matching(criteria);
+            long count = taskShards.readEachShard(() -> taskRepository.count(specification)).stream()
+                    .mapToLong(Long::longValue)
+                    .sum();
+            taskCache.putFilterCount(criteria, generation, count);
+            return count;
+        });
+    }
+
+    /** Answered from the search index; new writes show up after its next refresh. */
+    @Override
+    @Timed(value = SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+    public TaskFilterPageResponse searchTasks(String query, String priority, String completed, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty.");
+        }
+        TaskFilterCriteria criteria = toFilterCriteria(new TaskFilterRequest(null, null, completed, priority, null, null, null));
+        int pageNumber = resolvePageNumber(page);
+        int pageSize = resolvePageSize(size);
+        Page<TaskDTO> tasks = taskSearchIndex.search(query, criteria.priority(), criteria.completed(), pageNumber, pageSize);
+        recordRows("search", tasks.getNumberOfElements());
+        return new TaskFilterPageResponse(tasks.getContent(), pageNumber, pageSize, tasks.getTotalElements(), tasks.getTotalPages());
+    }
+
+    @Override
+    @Timed(value = SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+    public TaskStatsResponse getTaskStats() {
+        return taskStatistics.snapshot();
+    }
+
+    /**
+     * Applies the patch in its own transaction, guarded by the task's version. With an expected version
+     * (If-Match) a mismatch fails at once; without one, a concurrent write is retried with backoff.
+     * In write-behind mode the patch is queued and written later instead.
+     */
+    @Override
+    @Timed(value = SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+    public TaskDTO updateTask(Long id, TaskDTO taskDto, Long expectedVersion) {
+        if (taskWriteBehindQueue != null) {
+            return taskWriteBehindQueue.update(id, taskDto, expectedVersion);
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return taskShards.onShard(taskShards.shardOfId(id), () -> tryUpdateTask(id, taskDto, expectedVersion));
+            } catch (OptimisticLockingFailureException e) {
+                meterRegistry.counter(UPDATE_CONFLICTS_COUNTER).increment();
+                if (expectedVersion != null) {
+                    throw new TaskVersionMismatchException("Task " + id + " was modified concurrently. Reload it and retry with the new ETag.");
+                }
+                if (attempt == UPDATE_MAX_ATTEMPTS) {
+                    throw updateConflict(id);
+                }
+                backOff(id, attempt);
             }
         }
-        if (taskDto.getIsCompleted() != null) {
-            if (!"true".equalsIgnoreCase(String.valueOf(taskDto.getIsCompleted())) && !"false".equalsIgnoreCase(String.valueOf(taskDto.getIsCompleted()))) {
-                throw new IllegalArgumentException("Invalid value for critical status. Use true or false.");
+    }
+
+    private TaskDTO tryUpdateTask(Long id, TaskDTO taskDto, Long expectedVersion) {
+        UpdatedTask result = transactionTemplate.execute(status -> {
+            Task task = taskRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + id));
+            if (expectedVersion != null && task.getVersion() != expectedVersion) {
+                throw versionMismatch(id, task.getVersion(), expectedVersion);
             }
-            task.setCompleted(taskDto.getIsCompleted());
-            if (taskDto.getIsCompleted()) {
-                task.setPriority(Priority.LOW);
+            TaskDTO previous = TaskMapper.toDTO(task);
+            applyUpdate(task, taskDto);
+            // Flush inside the callback so a stale version or a duplicate title and due date surfaces here, not at commit.
+            try {
+                taskRepository.saveAndFlush(task);
+            } catch (DataIntegrityViolationException e) {
+                throw duplicateTask(task.getTitle(), task.getDueDate());
             }
+            taskChangeFeed.record(TaskChangeType.UPDATED, TaskMapper.toDTO(task));
+            return new UpdatedTask(task, previous);
+        });
+        taskKeyFilter.put(result.task().getTitle(), result.task().getDueDate());
+        taskPriorityIndex.put(result.task());
+        taskSearchIndex.put(result.task());
+        TaskDTO updated = TaskMapper.toDTO(result.task());
+        taskCache.evict(id, result.previous(), updated);
+        taskStatistics.recordUpdated(result.previous(), updated);
+        return updated;
+    }
+
+    private static void backOff(Long id, int attempt) {
+        long delay = UPDATE_BACKOFF_MILLIS << (attempt - 1);
+        try {
+            Thread.sleep(delay + ThreadLocalRandom.current().nextLong(delay + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw updateConflict(id);
         }
-        taskRepository.save(task);
-        return TaskMapper.toDTO(task);
+    }
+
+    private record UpdatedTask(Task task, TaskDTO previous) {
     }
 
     @Override
+    @Timed(value = SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
     public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+        // Ids carry their shard in the top bits, so concatenating the shards in order keeps the tasks ordered by id.
+        List<Task> tasks = taskShards.readEachShard(taskRepository::findAll).stream()
+                .flatMap(List::stream)
+                .toList();
+        recordRows("all", tasks.size());
+        return tasks;
+    }
+
+    @Override
+    @Timed(value = SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+    public void exportTasks(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Task.class);
+        try {
+            // One streaming read-only transaction per shard, shard after shard.
+            int written = taskShards.readEachShard(() -> exportShard(writer, outputStream)).stream()
+                    .mapToInt(Integer::intValue)
+                    .sum();
+            recordRows("export", written);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        outputStream.flush();
+    }
+
+    private int exportShard(ObjectWriter writer, OutputStream outputStream) {
+        try (Stream<Task> tasks = taskRepository.streamAllByOrderByIdAsc()) {
+            Iterator<Task> iterator = tasks.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                outputStream.write(writer.writeValueAsBytes(task));
+                outputStream.write('\n');
+                // Keep the persistence context empty so the export runs in constant memory.
+                entityManager.detach(task);
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    outputStream.flush();
+                }
+            }
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @Override
+    @Timed(value = SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
     public Task getTaskById(Long id) {
-        return taskRepository.findById(id)
+        if (taskWriteBehindQueue != null) {
+            Task pending = taskWriteBehindQueue.getPending(id);
+            if (pending != null) {
+                return pending;
+            }
+        }
+        TaskDTO cached = taskCache.getTask(id);
+        if (cached != null) {
+            return TaskMapper.toTask(cached);
+        }
+        long token = taskCache.taskToken(id);
+        // Archived tasks keep their id, so a task that is not in tasks may be in the archive.
+        TaskDTO task = taskShards.onShard(taskShards.shardOfId(id), () -> taskRepository.findById(id)
+                        .or(() -> archivedTaskRepository.findById(id).map(ArchivedTask::toTask))
+                        .map(TaskMapper::toDTO))
                 .orElseThrow(() -> new TaskNotExistsException("Task not found with id: " + id));
+        taskCache.putTask(task, token);
+        // A fresh copy on both paths, so a cache hit and a miss answer alike.
+        return TaskMapper.toTask(task);
     }
 
+    /** Archived tasks by due date, keyset-paged like /tasks/sort?sort=date. */
     @Override
-    public void deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new TaskNotExistsException("Task not found with id: " + id);
+    @Timed(value = SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+    public TaskPageResponse getArchivedTasks(String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        TaskCursor after = resolveCursor(ARCHIVE_SORT, cursor);
+        Pageable pageable = PageRequest.of(0, pageSize);
+        List<List<TaskDTO>> shardPages = taskShards.readEachShard(() -> (after == null)
+                ? archivedTaskRepository.findPageByDueDate(pageable)
+                : archivedTaskRepository.findPageByDueDateAfter(after.dueDate(), after.id(), pageable));
+        List<TaskDTO> tasks = mergePages(shardPages, DATE_ORDER, pageSize);
+
+        String nextCursor = null;
+        if (tasks.size() == pageSize) {
+            TaskDTO last = tasks.get(tasks.size() - 1);
+            nextCursor = new TaskCursor(ARCHIVE_SORT, last.getPriority(), last.getDueDate(), last.getId()).encode();
         }
-        taskRepository.deleteById(id);
+        recordRows("archive", tasks.size());
+        return new TaskPageResponse(tasks, nextCursor);
+    }
+
+    @Override
+    @Timed(value = SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+    public void deleteTask(Long id) {
+        Task task = taskShards.onShard(taskShards.shardOfId(id), () -> transactionTemplate.execute(status -> {
+            // Loaded once: it is the existence check and the state for the change feed, statistics and cache.
+            Task stored = taskRepository.findById(id)
+                    .orElseThrow(() -> new TaskNotExistsException("Task not found with id: " + id));
+            taskRepository.delete(stored);
+            taskChangeFeed.record(TaskChangeType.DELETED, TaskMapper.toDTO(stored));
+            return stored;
+        }));
+        // Only once the delete committed: if it fails, the acknowledged updates must still be written.
+        Task pending = (taskWriteBehindQueue == null) ? null : taskWriteBehindQueue.discard(id);
+        taskPriorityIndex.remove(id);
+        taskSearchIndex.remove(id);
+        TaskDTO stored = TaskMapper.toDTO(task);
+        // Filter entries hold the stored row, the counters and indexes the pending state; evict both.
+        TaskDTO deleted = (pending != null) ? TaskMapper.toDTO(pending) : stored;
+        taskCache.evict(id, stored, deleted);
+        taskStatistics.recordDeleted(deleted);
+    }
+
+    /** Completion forces LOW, as for a single update (see TaskRules.applyUpdate). */
+    @Override
+    @Timed(value = SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+    public BulkOperationResponse completeTasks(BulkTaskRequest request) {
+        Specification<Task> openTasks = (root, query, cb) -> cb.isFalse(root.get("isCompleted"));
+        long completed = runBulk(request, openTasks, tasks -> {
+            int updated = taskRepository.completeAll(idsOf(tasks), Priority.LOW);
+            taskChangeFeed.recordAll(TaskChangeType.UPDATED, tasks.stream().map(task -> TaskMapper.toDTO(completedState(task))).toList());
+            return updated;
+        }, task -> {
+            Task completedTask = completedState(task);
+            TaskDTO previous = TaskMapper.toDTO(task);
+            TaskDTO updated = TaskMapper.toDTO(completedTask);
+            taskPriorityIndex.remove(task.getId());
+            taskSearchIndex.put(completedTask);
+            taskCache.evict(task.getId(), previous, updated);
+            taskStatistics.recordUpdated(previous, updated);
+        });
+        return new BulkOperationResponse(completed);
+    }
+
+    @Override
+    @Timed(value = SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+    public BulkOperationResponse deleteTasks(BulkTaskRequest request) {
+        long deleted = runBulk(request, Specification.where(null), tasks -> {
+            int removed = taskRepository.deleteByIds(idsOf(tasks));
+            taskChangeFeed.recordAll(TaskChangeType.DELETED, tasks.stream().map(TaskMapper::toDTO).toList());
+            return removed;
+        }, task -> {
+            if (taskWriteBehindQueue != null) {
+                taskWriteBehindQueue.discard(task.getId());
+            }
+            TaskDTO previous = TaskMapper.toDTO(task);
+            taskPriorityIndex.remove(task.getId());
+            taskSearchIndex.remove(task.getId());
+            taskCache.evict(task.getId(), previous);
+            taskStatistics.recordDeleted(previous);
+        });
+        return new BulkOperationResponse(deleted);
     }
 
-    private Priority calculatePriority(LocalDate dueDate, boolean isCritical) {
-        if (isCritical) {
-            return Priority.HIGH;
+    /**
+     * Applies change to the tasks of the request that are in scope, BULK_CHUNK_SIZE tasks per transaction:
+     * the chunk is locked and read (its state before the change), then changed with one statement.
+     * afterCommit gets every task of a chunk once the chunk is committed. Returns the total row count.
+     */
+    private long runBulk(BulkTaskRequest request, Specification<Task> scope,
+                         ToIntFunction<List<Task>> change, Consumer<Task> afterCommit) {
+        TaskFilterCriteria criteria = toBulkCriteria(request);
+        long affected = 0;
+        if (criteria == null) {
+            Map<Integer, List<Long>> idsByShard = request.ids().stream().distinct()
+                    .collect(Collectors.groupingBy(taskShards::shardOfId, TreeMap::new, Collectors.toList()));
+            for (Map.Entry<Integer, List<Long>> shard : idsByShard.entrySet()) {
+                List<Long> ids = shard.getValue();
+                for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+                    Specification<Task> inChunk = scope.and((root, query, cb) -> root.get("id").in(chunk));
+                    affected += runBulkChunk(shard.getKey(), inChunk, 0L, change, afterCommit).affected();
+                }
+            }
+            return affected;
         }
-        if (dueDate.isBefore(LocalDate.now().plusDays(7))) {
-            return Priority.HIGH;
-        } else if (dueDate.isBefore(LocalDate.now().plusDays(20))) {
-            return Priority.MEDIUM;
-        } else {
-            return Priority.LOW;
+        Specification<Task> matching = scope.and(TaskSpecifications.matching(criteria));
+        for (int shard = 0; shard < taskShards.count(); shard++) {
+            BulkChunk chunk;
+            long afterId = 0L;
+            do {
+                chunk = runBulkChunk(shard, matching, afterId, change, afterCommit);
+                affected += chunk.affected();
+                if (!chunk.tasks().isEmpty()) {
+                    afterId = chunk.tasks().get(chunk.tasks().size() - 1).getId();
+                }
+            } while (chunk.tasks().size() == BULK_CHUNK_SIZE);
         }
+        return affected;
     }
 
-    private static String normalize(String input) {
-        return (input == null) ? "" : input.replaceAll("\\s+", "");
+    private BulkChunk runBulkChunk(int shard, Specification<Task> specification, long afterId,
+                                   ToIntFunction<List<Task>> change, Consumer<Task> afterCommit) {
+        BulkChunk chunk = taskShards.onShard(shard, () -> transactionTemplate.execute(status -> {
+            List<Task> tasks = taskRepository.findForUpdate(specification, afterId, BULK_CHUNK_SIZE);
+            return new BulkChunk(tasks, tasks.isEmpty() ? 0 : change.applyAsInt(tasks));
+        }));
+        chunk.tasks().forEach(afterCommit);
+        return chunk;
     }
 
-    private boolean isValidDate(String date) {
-        try {
-            LocalDate.parse(date, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-            return true;
-        } catch (DateTimeParseException e) {
-            return false;
-        }
+    private static List<Long> idsOf(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+
+    // The row as completeAll leaves it.
+    private static Task completedState(Task task) {
+        return new Task(task.getId(), task.getTitle(), task.getDescription(), Priority.LOW, task.getDueDate(), true,
+                task.getVersion() + 1, task.getTenantId());
+    }
+
+    private record BulkChunk(List<Task> tasks, int affected) {
     }
 }
@@ -0,0 +1,165 @@
+package com.TaskPrioritizationAPI.services.impl;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of the patches accepted by {@link TaskWriteBehindQueue}, one JSON line each, in numbered
+ * segment files. A segment is sealed when its patches are handed to a flush and deleted once they are in the
+ * database, so whatever segments exist at startup hold patches that may not have been written yet.
+ * Replaying a patch twice is harmless: patches only set fields to absolute values.
+ */
+final class TaskUpdateJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskUpdateJournal.class);
+    private static final String SEGMENT_PREFIX = "updates-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final boolean fsync;
+    private final List<Path> leftoverSegments;
+    private final Object syncLock = new Object();
+
+    // Offsets count bytes across all segments, so a sync can tell whether a record is already on disk.
+    private FileChannel channel;
+    private Path segment;
+    private long segmentNumber;
+    private long written;
+    private volatile long synced;
+
+    TaskUpdateJournal(Path directory, ObjectMapper objectMapper, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.writer = objectMapper.writerFor(JournalRecord.class);
+        this.reader = objectMapper.readerFor(JournalRecord.class);
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        this.leftoverSegments = listSegments();
+        this.segmentNumber = leftoverSegments.isEmpty() ? 0 : numberOf(leftoverSegments.get(leftoverSegments.size() - 1));
+        openNextSegment();
+    }
+
+    /** Segments that existed when the journal was opened, oldest first. */
+    List<Path> leftoverSegments() {
+        return leftoverSegments;
+    }
+
+    /** Appends a record and returns its end offset, to be passed to {@link #sync(long)}. */
+    synchronized long append(Long id, TaskDTO patch) throws IOException {
+        byte[] line = writer.writeValueAsBytes(new JournalRecord(id, patch));
+        ByteBuffer buffer = ByteBuffer.allocate(line.length + 1).put(line).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        written += line.length + 1;
+        return written;
+    }
+
+    /**
+     * Returns once everything up to the offset is on disk. Group commit: one fsync covers every record
+     * appended before it, so threads that were waiting for the lock usually find their record already synced.
+     */
+    void sync(long offset) throws IOException {
+        if (!fsync || synced >= offset) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= offset) {
+                return;
+            }
+            long target;
+            FileChannel current;
+            synchronized (this) {
+                target = written;
+                current = channel;
+            }
+            current.force(false);
+            synced = target;
+        }
+    }
+
+    /** Closes the current segment and starts a new one; returns the closed segment. */
+    Path seal() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                Path sealed = segment;
+                channel.force(false);
+                channel.close();
+                synced = written;
+                openNextSegment();
+                return sealed;
+            }
+        }
+    }
+
+    List<JournalRecord> read(Path segmentFile) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        for (String line : Files.readAllLines(segmentFile, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                records.add(reader.readValue(line));
+            } catch (JsonProcessingException e) {
+                // Only the last line of a segment can be torn, by a crash in the middle of an append.
+                log.warn("Skipping unreadable write-behind journal record in {}", segmentFile);
+            }
+        }
+        return records;
+    }
+
+    void delete(List<Path> segments) throws IOException {
+        for (Path sealed : segments) {
+            Files.deleteIfExists(sealed);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.force(false);
+        channel.close();
+    }
+
+    private void openNextSegment() throws IOException {
+        segment = directory.resolve(SEGMENT_PREFIX + String.format("%012d", ++segmentNumber) + SEGMENT_SUFFIX);
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(TaskUpdateJournal::numberOf))
+                    .toList();
+        }
+    }
+
+    private static long numberOf(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    record JournalRecord(Long id, TaskDTO patch) {
+    }
+}
@@ -0,0 +1,406 @@
+package com.TaskPrioritizationAPI.services.impl;
+
+import com.TaskPrioritizationAPI.cache.TaskCache;
+import com.TaskPrioritizationAPI.changes.TaskChangeFeed;
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.index.TaskKeyFilter;
+import com.TaskPrioritizationAPI.index.TaskPriorityIndex;
+import com.TaskPrioritizationAPI.index.TaskSearchIndex;
+import com.TaskPrioritizationAPI.mappers.TaskMapper;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.models.TaskChangeType;
+import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import com.TaskPrioritizationAPI.stats.TaskStatistics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.applyUpdate;
+import static com.TaskPrioritizationAPI.services.impl.TaskRules.versionMismatch;
+
+/**
+ * Opt-in write-behind for task updates (task.write-behind.enabled=true). A PATCH is applied to the task's
+ * pending state, logged to the {@link TaskUpdateJournal} and acknowledged. Pending states are merged per task
+ * and written in batched transactions once batch-size tasks are pending, or every flush-interval, so a burst
+ * of N updates costs about N / batch-size commits instead of N. {@link TaskServiceImpl#getTaskById} reads
+ * pending states first; list and filter endpoints see an update once it is flushed.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "task.write-behind.enabled", havingValue = "true")
+public class TaskWriteBehindQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskWriteBehindQueue.class);
+    private static final String QUEUE_DEPTH_GAUGE = "task.write-behind.queue.depth";
+    private static final String FLUSH_TIMER = "task.write-behind.flush";
+    private static final String FLUSH_SIZE_SUMMARY = "task.write-behind.flush.tasks";
+    private static final String FLUSH_FAILURES_COUNTER = "task.write-behind.flush.failures";
+    private static final String UPDATES_COUNTER = "task.write-behind.updates";
+    private static final String CONFLICTS_COUNTER = "task.write-behind.conflicts";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskPriorityIndex taskPriorityIndex;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskKeyFilter taskKeyFilter;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    @Autowired
+    private TaskChangeFeed taskChangeFeed;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${task.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${task.write-behind.flush-interval:200ms}")
+    private Duration flushInterval;
+
+    @Value("${task.write-behind.journal-dir:data/write-behind}")
+    private String journalDir;
+
+    @Value("${task.write-behind.journal-fsync:true}")
+    private boolean journalFsync;
+
+    // Accepted but not yet handed to a flush, and handed to a flush but not yet committed.
+    private final Map<Long, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final Map<Long, PendingUpdate> inFlight = new ConcurrentHashMap<>();
+    // Updates hold the read lock while they journal and merge; a flush takes the write lock to drain and seal.
+    private final ReadWriteLock drainLock = new ReentrantReadWriteLock();
+    private final List<Path> sealedSegments = new ArrayList<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private TaskUpdateJournal journal;
+    private ScheduledExecutorService flusher;
+    private Timer flushTimer;
+    private DistributionSummary flushSize;
+
+    @PostConstruct
+    public void start() throws IOException {
+        journal = new TaskUpdateJournal(Path.of(journalDir), objectMapper, journalFsync);
+        Gauge.builder(QUEUE_DEPTH_GAUGE, this, TaskWriteBehindQueue::depth).register(meterRegistry);
+        flushTimer = Timer.builder(FLUSH_TIMER).publishPercentiles(0.5, 0.99).register(meterRegistry);
+        flushSize = DistributionSummary.builder(FLUSH_SIZE_SUMMARY).register(meterRegistry);
+        replay(journal.leftoverSegments());
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+        flush();
+        journal.close();
+    }
+
+    /** Applies the patch to the task's pending state and returns it once the patch is journaled. */
+    public TaskDTO update(Long id, TaskDTO taskDto, Long expectedVersion) {
+        Task[] before = new Task[1];
+        PendingUpdate updated = accept(id, taskDto, expectedVersion, true, before);
+        taskPriorityIndex.put(updated.state());
+        taskSearchIndex.put(updated.state());
+        TaskDTO result = TaskMapper.toDTO(updated.state());
+        taskStatistics.recordUpdated(TaskMapper.toDTO(before[0]), result);
+        meterRegistry.counter(UPDATES_COUNTER).increment();
+        if (pending.size() >= batchSize && !flusher.isShutdown() && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flush);
+        }
+        return result;
+    }
+
+    /** The task as it will be once its pending updates are written, or null if it has none. */
+    public Task getPending(Long id) {
+        PendingUpdate update = pending.get(id);
+        if (update == null) {
+            update = inFlight.get(id);
+        }
+        return update == null ? null : copyOf(update.state());
+    }
+
+    /**
+     * Drops updates that were not handed to a flush yet, for a task that is being deleted.
+     * Returns the state the task had with them, or null if there were none.
+     */
+    public Task discard(Long id) {
+        PendingUpdate dropped = pending.remove(id);
+        return dropped == null ? null : dropped.state();
+    }
+
+    public int depth() {
+        return pending.size() + inFlight.size();
+    }
+
+    /**
+     * Writes every pending state. Tasks whose row moved on since their updates were accepted, e.g. through
+     * the re-prioritization job, get their patches applied again on top of the current row. A failed flush
+     * keeps its tasks and journal segments and is retried by the next one.
+     */
+    public synchronized void flush() {
+        flushRequested.set(false);
+        if (inFlight.isEmpty()) {
+            drainLock.writeLock().lock();
+            try {
+                inFlight.putAll(pending);
+                pending.clear();
+                if (!inFlight.isEmpty()) {
+                    sealedSegments.add(journal.seal());
+                }
+            } catch (IOException e) {
+                // The drained patches stay in the current segment and are deleted with a later one.
+                log.warn("Could not seal the write-behind journal segment", e);
+            } finally {
+                drainLock.writeLock().unlock();
+            }
+        }
+        if (inFlight.isEmpty() && sealedSegments.isEmpty()) {
+            return;
+        }
+
+        List<PendingUpdate> batch = new ArrayList<>(inFlight.values());
+        long start = System.nanoTime();
+        try {
+            Map<Integer, List<PendingUpdate>> byShard = batch.stream()
+                    .collect(Collectors.groupingBy(update -> taskShards.shardOfId(update.state().getId())));
+            for (Map.Entry<Integer, List<PendingUpdate>> shard : byShard.entrySet()) {
+                List<PendingUpdate> updates = shard.getValue();
+                for (int from = 0; from < updates.size(); from += batchSize) {
+                    List<PendingUpdate> chunk = updates.subList(from, Math.min(from + batchSize, updates.size()));
+                    taskShards.runOnShard(shard.getKey(), () -> writeChunkSkippingDuplicates(chunk));
+                }
+            }
+            journal.delete(sealedSegments);
+            sealedSegments.clear();
+        } catch (RuntimeException | IOException e) {
+            meterRegistry.counter(FLUSH_FAILURES_COUNTER).increment();
+            log.warn("Write-behind flush failed, {} task(s) will be retried", inFlight.size(), e);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            flushSize.record(batch.size());
+        }
+    }
+
+    // A rename onto another task's title and due date fails its whole chunk on the unique key; the chunk is
+    // then written one task at a time and only that update is dropped, instead of failing every flush.
+    private void writeChunkSkippingDuplicates(List<PendingUpdate> chunk) {
+        try {
+            writeChunk(chunk);
+        } catch (DataIntegrityViolationException e) {
+            if (chunk.size() > 1) {
+                chunk.forEach(update -> writeChunkSkippingDuplicates(List.of(update)));
+                return;
+            }
+            PendingUpdate update = chunk.get(0);
+            Long id = update.state().getId();
+            log.warn("Dropping {} write-behind update(s) for task {}: another task has the same title and due date",
+                    update.patches().size(), id);
+            // The indexes and counters already show the dropped state; put them back to the stored row.
+            taskRepository.findById(id).ifPresent(stored -> {
+                taskPriorityIndex.put(stored);
+                taskSearchIndex.put(stored);
+                taskStatistics.recordUpdated(TaskMapper.toDTO(update.state()), TaskMapper.toDTO(stored));
+            });
+            taskCache.evict(id, update.previous(), TaskMapper.toDTO(update.state()));
+            inFlight.remove(id, update);
+        }
+    }
+
+    private void writeChunk(List<PendingUpdate> chunk) {
+        Map<Long, Task> written = transactionTemplate.execute(status -> {
+            List<Task> states = chunk.stream().map(PendingUpdate::state).toList();
+            long[] expectedVersions = chunk.stream().mapToLong(PendingUpdate::baseVersion).toArray();
+            int[] updated = taskRepository.updateIfVersion(states, expectedVersions);
+            Map<Long, Task> result = new HashMap<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                Task state = states.get(i);
+                Task stored = updated[i] == 0 ? reapply(chunk.get(i)) : state;
+                if (stored != null) {
+                    result.put(state.getId(), stored);
+                }
+            }
+            taskChangeFeed.recordAll(TaskChangeType.UPDATED, result.values().stream().map(TaskMapper::toDTO).toList());
+            return result;
+        });
+        for (PendingUpdate update : chunk) {
+            Long id = update.state().getId();
+            Task stored = written.get(id);
+            if (stored != null) {
+                taskKeyFilter.put(stored.getTitle(), stored.getDueDate());
+                if (stored != update.state()) {
+                    taskPriorityIndex.put(stored);
+                    taskSearchIndex.put(stored);
+                }
+                taskCache.evict(id, update.previous(), TaskMapper.toDTO(stored));
+            }
+            // Evict before dropping the pending state, so a read in between never gets the old cached task.
+            inFlight.remove(id, update);
+        }
+    }
+
+    private Task reapply(PendingUpdate update) {
+        Long id = update.state().getId();
+        meterRegistry.counter(CONFLICTS_COUNTER).increment();
+        Task current = taskRepository.findById(id).orElse(null);
+        if (current == null) {
+            log.info("Dropping {} write-behind update(s) for task {}, which was deleted", update.patches().size(), id);
+            return null;
+        }
+        for (TaskDTO patch : update.patches()) {
+            try {
+                applyUpdate(current, patch);
+            } catch (RuntimeException e) {
+                log.warn("Skipping write-behind update for task {}: {}", id, e.getMessage());
+            }
+        }
+        return copyOf(taskRepository.saveAndFlush(current));
+    }
+
+    // before[0] receives the state the patch was applied to.
+    private PendingUpdate accept(Long id, TaskDTO taskDto, Long expectedVersion, boolean journaled, Task[] before) {
+        // Load outside the per-task lock when it is likely needed; baseFor() loads again only on a race with a flush.
+        Task loaded = (pending.containsKey(id) || inFlight.containsKey(id)) ? null : findOnShard(id).orElse(null);
+        long[] offset = {-1};
+        PendingUpdate accepted;
+        drainLock.readLock().lock();
+        try {
+            accepted = pending.compute(id, (key, entry) -> {
+                PendingUpdate base = (entry != null) ? entry : baseFor(id, loaded);
+                Task state = copyOf(base.state());
+                if (expectedVersion != null && state.getVersion() != expectedVersion) {
+                    throw versionMismatch(id, state.getVersion(), expectedVersion);
+                }
+                applyUpdate(state, taskDto);
+                state.setVersion(state.getVersion() + 1);
+                if (journaled) {
+                    try {
+                        offset[0] = journal.append(id, taskDto);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Could not journal the update for task " + id, e);
+                    }
+                }
+                base.patches().add(taskDto);
+                before[0] = base.state();
+                return new PendingUpdate(base.baseVersion(), base.previous(), state, base.patches());
+            });
+        } finally {
+            drainLock.readLock().unlock();
+        }
+        if (offset[0] >= 0) {
+            try {
+                journal.sync(offset[0]);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not sync the write-behind journal", e);
+            }
+        }
+        return accepted;
+    }
+
+    private PendingUpdate baseFor(Long id, Task loaded) {
+        // A task that is being flushed continues from its flushed state, the version its row is about to have.
+        PendingUpdate flushing = inFlight.get(id);
+        if (flushing != null) {
+            return PendingUpdate.startingFrom(flushing.state());
+        }
+        Task task = (loaded != null) ? loaded : findOnShard(id)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + id));
+        return PendingUpdate.startingFrom(task);
+    }
+
+    private Optional<Task> findOnShard(Long id) {
+        return taskShards.onShard(taskShards.shardOfId(id), () -> taskRepository.findById(id));
+    }
+
+    private void replay(List<Path> segments) throws IOException {
+        int replayed = 0;
+        for (Path segment : segments) {
+            for (TaskUpdateJournal.JournalRecord record : journal.read(segment)) {
+                try {
+                    accept(record.id(), record.patch(), null, false, new Task[1]);
+                    replayed++;
+                } catch (RuntimeException e) {
+                    log.warn("Skipping journaled update for task {}: {}", record.id(), e.getMessage());
+                }
+            }
+        }
+        sealedSegments.addAll(segments);
+        if (!segments.isEmpty()) {
+            log.info("Replaying {} journaled update(s) from {} write-behind segment(s)", replayed, segments.size());
+            flush();
+        }
+    }
+
+    private static Task copyOf(Task task) {
+        return new Task(task.getId(), task.getTitle(), task.getDescription(), task.getPriority(),
+                task.getDueDate(), task.isCompleted(), task.getVersion(), task.getTenantId());
+    }
+
+    /**
+     * Merged updates of one task: the row version they were based on, the task as it was then (for cache
+     * eviction), the task with every patch applied, and the patches in order in case they must be reapplied.
+     */
+    private record PendingUpdate(long baseVersion, TaskDTO previous, Task state, List<TaskDTO> patches) {
+
+        static PendingUpdate startingFrom(Task task) {
+            return new PendingUpdate(task.getVersion(), TaskMapper.toDTO(task), copyOf(task), new ArrayList<>());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.TaskPrioritizationAPI.sharding;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The task_seq generator with one pooled block per shard, since every shard has its own task_seq.
+ * The shard number goes into the top bits of the id, so ids stay unique across shards and
+ * {@link TaskShards#shardOfId(Long)} can route a lookup by id. Shard 0 produces the plain sequence values.
+ */
+public class ShardedSequenceGenerator extends SequenceStyleGenerator {
+
+    private final Map<Integer, Optimizer> shardOptimizers = new ConcurrentHashMap<>();
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        int shard = TenantContext.currentShard();
+        Optimizer optimizer = (shard == 0) ? getOptimizer() : shardOptimizers.computeIfAbsent(shard,
+                key -> OptimizerFactory.buildOptimizer("pooled", Long.class, getOptimizer().getIncrementSize(), -1));
+        long value = ((Number) optimizer.generate(getDatabaseStructure().buildCallback(session))).longValue();
+        return ((long) shard << TaskShards.SHARD_ID_SHIFT) | value;
+    }
+}
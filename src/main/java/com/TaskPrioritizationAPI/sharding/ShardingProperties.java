@@ -0,0 +1,27 @@
+package com.TaskPrioritizationAPI.sharding;
+
+import com.TaskPrioritizationAPI.replicas.ReplicaProperties;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+    private List<Shard> shards = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private List<ReplicaProperties.Replica> replicas = new ArrayList<>();
+    }
+}
@@ -0,0 +1,88 @@
+package com.TaskPrioritizationAPI.sharding;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Runs repository work on a given shard. With task.sharding.enabled=false there is a single shard, 0,
+ * and every method simply runs the work, so callers need no separate unsharded path.
+ * A tenant's tasks live on shard floorMod(tenant.hashCode(), shards); a task id keeps its shard in the
+ * bits above {@link #SHARD_ID_SHIFT}.
+ */
+@Component
+@Profile("!reactive")
+public class TaskShards {
+
+    public static final int SHARD_ID_SHIFT = 48;
+
+    @Autowired
+    private ShardingProperties shardingProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+    private int count;
+
+    @PostConstruct
+    public void init() {
+        count = shardingProperties.isEnabled() ? Math.max(1, shardingProperties.getShards().size()) : 1;
+        TenantContext.setShardCount(count);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int shardOfTenant(String tenant) {
+        return TenantContext.shardOf(tenant);
+    }
+
+    public int shardOfId(Long id) {
+        long shard = id >>> SHARD_ID_SHIFT;
+        // An id that names no configured shard cannot exist; look on shard 0, which will not find it either.
+        return shard < count ? (int) shard : 0;
+    }
+
+    public <T> T onShard(int shard, Supplier<T> action) {
+        Integer previous = TenantContext.getShard();
+        TenantContext.setShard(shard);
+        try {
+            return action.get();
+        } finally {
+            TenantContext.setShard(previous);
+        }
+    }
+
+    public void runOnShard(int shard, Runnable action) {
+        onShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public void forEachShard(Runnable action) {
+        for (int shard = 0; shard < count; shard++) {
+            runOnShard(shard, action);
+        }
+    }
+
+    /** Runs the query on every shard, each in its own read-only transaction; results are in shard order. */
+    public <T> List<T> readEachShard(Supplier<T> query) {
+        List<T> results = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            results.add(onShard(shard, () -> readOnlyTransaction.execute(status -> query.get())));
+        }
+        return results;
+    }
+}
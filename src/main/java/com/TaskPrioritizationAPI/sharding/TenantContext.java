@@ -0,0 +1,58 @@
+package com.TaskPrioritizationAPI.sharding;
+
+/**
+ * The tenant of the current request and, while {@link TaskShards} runs work on a specific shard, that shard.
+ * {@link TenantRoutingDataSource} and {@link ShardedSequenceGenerator} read it to pick the shard.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> TENANT = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> SHARD = new ThreadLocal<>();
+    private static volatile int shardCount = 1;
+
+    private TenantContext() {
+    }
+
+    public static String getTenant() {
+        String tenant = TENANT.get();
+        return tenant == null ? DEFAULT_TENANT : tenant;
+    }
+
+    public static void setTenant(String tenant) {
+        TENANT.set(tenant == null || tenant.isBlank() ? null : tenant.trim());
+    }
+
+    public static void clear() {
+        TENANT.remove();
+        SHARD.remove();
+    }
+
+    /** The shard explicitly selected for this thread, or else the current tenant's shard. */
+    public static int currentShard() {
+        Integer shard = SHARD.get();
+        return shard != null ? shard : shardOf(getTenant());
+    }
+
+    public static int shardOf(String tenant) {
+        String key = (tenant == null || tenant.isBlank()) ? DEFAULT_TENANT : tenant.trim();
+        return Math.floorMod(key.hashCode(), shardCount);
+    }
+
+    static Integer getShard() {
+        return SHARD.get();
+    }
+
+    static void setShard(Integer shard) {
+        if (shard == null) {
+            SHARD.remove();
+        } else {
+            SHARD.set(shard);
+        }
+    }
+
+    static void setShardCount(int count) {
+        shardCount = count;
+    }
+}
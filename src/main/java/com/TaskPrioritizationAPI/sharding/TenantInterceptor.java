@@ -0,0 +1,25 @@
+package com.TaskPrioritizationAPI.sharding;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/** Takes the tenant from the X-Tenant-ID header; requests without it belong to the default tenant. */
+@Component
+public class TenantInterceptor implements HandlerInterceptor {
+
+    public static final String TENANT_HEADER = "X-Tenant-ID";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        TenantContext.setTenant(request.getHeader(TENANT_HEADER));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        TenantContext.clear();
+    }
+}
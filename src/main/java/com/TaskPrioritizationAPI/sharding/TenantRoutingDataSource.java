@@ -0,0 +1,16 @@
+package com.TaskPrioritizationAPI.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections from the shard of the current tenant, or of the shard selected by
+ * {@link TaskShards}. The shard is fixed when a transaction gets its connection, so it has to be
+ * chosen before the transaction starts.
+ */
+public class TenantRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TenantContext.currentShard();
+    }
+}
@@ -0,0 +1,135 @@
+package com.TaskPrioritizationAPI.stats;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.payload.response.TaskStatsResponse;
+import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.repositories.projections.TaskCountView;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Task counts per priority and completion state plus the number of overdue open tasks, kept in
+ * striped counters that TaskService adjusts on every write, so /tasks/stats never touches the database.
+ * A GROUP BY reconcile at startup, every reconcile-interval and just after midnight (when open tasks
+ * become overdue without being written) corrects any drift, e.g. from bulk updates or write-behind conflicts.
+ */
+@Component
+@Profile("!reactive")
+public class TaskStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatistics.class);
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    // [priority.ordinal()][completed ? 1 : 0]
+    private final LongAdder[][] counts = new LongAdder[PRIORITIES.length][2];
+    private final LongAdder overdue = new LongAdder();
+    private volatile Instant reconciledAt;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    public TaskStatistics() {
+        for (LongAdder[] byCompleted : counts) {
+            byCompleted[0] = new LongAdder();
+            byCompleted[1] = new LongAdder();
+        }
+    }
+
+    public void recordCreated(TaskDTO task) {
+        add(task, 1);
+    }
+
+    public void recordUpdated(TaskDTO previous, TaskDTO updated) {
+        add(previous, -1);
+        add(updated, 1);
+    }
+
+    public void recordDeleted(TaskDTO task) {
+        add(task, -1);
+    }
+
+    public TaskStatsResponse snapshot() {
+        Map<Priority, Long> open = new EnumMap<>(Priority.class);
+        Map<Priority, Long> completed = new EnumMap<>(Priority.class);
+        long totalOpen = 0;
+        long totalCompleted = 0;
+        for (Priority priority : PRIORITIES) {
+            long openCount = counts[priority.ordinal()][0].sum();
+            long completedCount = counts[priority.ordinal()][1].sum();
+            open.put(priority, openCount);
+            completed.put(priority, completedCount);
+            totalOpen += openCount;
+            totalCompleted += completedCount;
+        }
+        return new TaskStatsResponse(open, completed, totalOpen, totalCompleted, overdue.sum(), reconciledAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${task.stats.reconcile-interval:PT5M}", initialDelayString = "${task.stats.reconcile-interval:PT5M}")
+    @Scheduled(cron = "${task.stats.reconcile-cron:1 0 0 * * *}")
+    public void reconcile() {
+        long[][] actual = new long[PRIORITIES.length][2];
+        for (List<TaskCountView> rows : taskShards.readEachShard(taskRepository::countByPriorityAndCompleted)) {
+            for (TaskCountView row : rows) {
+                if (row.getPriority() != null) {
+                    actual[row.getPriority().ordinal()][row.getCompleted() ? 1 : 0] += row.getTotal();
+                }
+            }
+        }
+        LocalDate today = LocalDate.now();
+        long actualOverdue = taskShards.readEachShard(() -> taskRepository.countOverdue(today)).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+        long drift = 0;
+        for (Priority priority : PRIORITIES) {
+            drift += correct(counts[priority.ordinal()][0], actual[priority.ordinal()][0]);
+            drift += correct(counts[priority.ordinal()][1], actual[priority.ordinal()][1]);
+        }
+        drift += correct(overdue, actualOverdue);
+        reconciledAt = Instant.now();
+        meterRegistry.counter("task.stats.drift").increment(drift);
+        if (drift > 0) {
+            log.info("Task statistics reconciled, corrected a drift of {}", drift);
+        }
+    }
+
+    // Adds the difference instead of resetting, so writes racing with the reconcile are not wiped out.
+    private static long correct(LongAdder counter, long actual) {
+        long difference = actual - counter.sum();
+        counter.add(difference);
+        return Math.abs(difference);
+    }
+
+    private void add(TaskDTO task, long delta) {
+        if (task == null || task.getPriority() == null) {
+            return;
+        }
+        boolean completed = Boolean.TRUE.equals(task.getIsCompleted());
+        counts[task.getPriority().ordinal()][completed ? 1 : 0].add(delta);
+        if (!completed && task.getDueDate() != null && task.getDueDate().isBefore(LocalDate.now())) {
+            overdue.add(delta);
+        }
+    }
+}
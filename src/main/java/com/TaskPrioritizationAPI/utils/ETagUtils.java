@@ -0,0 +1,32 @@
+package com.TaskPrioritizationAPI.utils;
+
+/**
+ * Task ETags are the quoted entity version, e.g. "3".
+ */
+public final class ETagUtils {
+
+    private ETagUtils() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the version an If-Match header asks for, or null when the header is absent or "*".
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        try {
+            return Long.valueOf(value.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + ifMatch + ". Use the ETag returned for the task.");
+        }
+    }
+}
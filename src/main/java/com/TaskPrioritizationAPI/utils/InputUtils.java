@@ -0,0 +1,29 @@
+package com.TaskPrioritizationAPI.utils;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Pattern;
+
+public final class InputUtils {
+
+    // Compiled once; String.replaceAll and DateTimeFormatter.ofPattern rebuild these on every call.
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private InputUtils() {
+    }
+
+    public static String normalize(String input) {
+        return (input == null) ? "" : WHITESPACE.matcher(input).replaceAll("");
+    }
+
+    public static boolean isValidDate(String date) {
+        try {
+            LocalDate.parse(date, DATE_FORMATTER);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+CREATE SEQUENCE task_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE tasks (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    title        VARCHAR(255),
+    description  VARCHAR(255),
+    priority     VARCHAR(255),
+    due_date     DATE,
+    is_completed BOOLEAN      NOT NULL,
+    version      BIGINT       NOT NULL,
+    tenant_id    VARCHAR(255)
+);
+
+CREATE INDEX idx_tasks_priority_due_date_id ON tasks (priority, due_date, id);
+CREATE INDEX idx_tasks_due_date_id ON tasks (due_date, id);
+CREATE INDEX idx_tasks_completed_priority_due_date ON tasks (is_completed, priority, due_date);
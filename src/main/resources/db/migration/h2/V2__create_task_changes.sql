@@ -0,0 +1,9 @@
+CREATE TABLE task_changes (
+    seq         BIGINT        AUTO_INCREMENT PRIMARY KEY,
+    task_id     BIGINT,
+    type        VARCHAR(255),
+    payload     VARCHAR(2048),
+    changed_at  TIMESTAMP(6)
+);
+
+CREATE INDEX idx_task_changes_changed_at ON task_changes (changed_at);
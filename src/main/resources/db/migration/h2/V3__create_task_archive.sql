@@ -0,0 +1,12 @@
+CREATE TABLE task_archive (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    title        VARCHAR(255),
+    description  VARCHAR(255),
+    priority     VARCHAR(255),
+    due_date     DATE,
+    is_completed BOOLEAN      NOT NULL,
+    version      BIGINT       NOT NULL,
+    tenant_id    VARCHAR(255)
+);
+
+CREATE INDEX idx_task_archive_due_date_id ON task_archive (due_date, id);
@@ -0,0 +1,11 @@
+ALTER TABLE tasks ADD CONSTRAINT uk_tasks_title_due_date UNIQUE (title, due_date);
+
+CREATE TABLE task_idempotency_keys (
+    idempotency_key VARCHAR(255)  NOT NULL PRIMARY KEY,
+    request_hash    VARCHAR(64),
+    task_id         BIGINT,
+    response        VARCHAR(2048),
+    created_at      TIMESTAMP(6)
+);
+
+CREATE INDEX idx_task_idempotency_keys_created_at ON task_idempotency_keys (created_at);
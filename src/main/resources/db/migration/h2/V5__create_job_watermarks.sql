@@ -0,0 +1,4 @@
+CREATE TABLE job_watermarks (
+    job_name      VARCHAR(255) NOT NULL PRIMARY KEY,
+    last_run_date DATE
+);
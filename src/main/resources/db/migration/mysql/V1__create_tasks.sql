@@ -0,0 +1,23 @@
+-- The schema ddl-auto=update creates; databases that already have it are baselined at V1.
+CREATE TABLE tasks (
+    id           BIGINT       NOT NULL,
+    title        VARCHAR(255),
+    description  VARCHAR(255),
+    priority     VARCHAR(255),
+    due_date     DATE,
+    is_completed BIT          NOT NULL,
+    version      BIGINT       NOT NULL,
+    tenant_id    VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_tasks_priority_due_date_id ON tasks (priority, due_date, id);
+CREATE INDEX idx_tasks_due_date_id ON tasks (due_date, id);
+CREATE INDEX idx_tasks_completed_priority_due_date ON tasks (is_completed, priority, due_date);
+
+-- MySQL has no sequences; Hibernate's pooled task_seq generator uses this table instead.
+CREATE TABLE task_seq (
+    next_val BIGINT
+);
+
+INSERT INTO task_seq (next_val) VALUES (1);
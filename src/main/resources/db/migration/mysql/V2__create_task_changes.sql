@@ -0,0 +1,11 @@
+-- Outbox for the /tasks/changes feed.
+CREATE TABLE task_changes (
+    seq         BIGINT        NOT NULL AUTO_INCREMENT,
+    task_id     BIGINT,
+    type        VARCHAR(255),
+    payload     VARCHAR(2048),
+    changed_at  DATETIME(6),
+    PRIMARY KEY (seq)
+);
+
+CREATE INDEX idx_task_changes_changed_at ON task_changes (changed_at);
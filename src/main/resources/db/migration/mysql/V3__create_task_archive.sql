@@ -0,0 +1,14 @@
+-- Cold store for completed tasks; compressed pages, since rows are written once and rarely read.
+CREATE TABLE task_archive (
+    id           BIGINT       NOT NULL,
+    title        VARCHAR(255),
+    description  VARCHAR(255),
+    priority     VARCHAR(255),
+    due_date     DATE,
+    is_completed BIT          NOT NULL,
+    version      BIGINT       NOT NULL,
+    tenant_id    VARCHAR(255),
+    PRIMARY KEY (id)
+) ROW_FORMAT=COMPRESSED;
+
+CREATE INDEX idx_task_archive_due_date_id ON task_archive (due_date, id);
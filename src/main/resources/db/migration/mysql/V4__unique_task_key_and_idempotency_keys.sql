@@ -0,0 +1,14 @@
+-- Backs the duplicate check of createTask. Fails if the table already holds duplicates; remove them first.
+ALTER TABLE tasks ADD CONSTRAINT uk_tasks_title_due_date UNIQUE (title, due_date);
+
+-- Responses of POST /tasks/create by Idempotency-Key, pruned after task.idempotency.retention.
+CREATE TABLE task_idempotency_keys (
+    idempotency_key VARCHAR(255)  NOT NULL,
+    request_hash    VARCHAR(64),
+    task_id         BIGINT,
+    response        VARCHAR(2048),
+    created_at      DATETIME(6),
+    PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX idx_task_idempotency_keys_created_at ON task_idempotency_keys (created_at);
@@ -0,0 +1,6 @@
+-- Last completed run per scheduled job; the re-prioritization job resumes from it after a restart.
+CREATE TABLE job_watermarks (
+    job_name      VARCHAR(255) NOT NULL,
+    last_run_date DATE,
+    PRIMARY KEY (job_name)
+);
@@ -0,0 +1,50 @@
+package com.TaskPrioritizationAPI.benchmark;
+
+import com.TaskPrioritizationAPI.utils.InputUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InputUtils against the original inline versions, which compiled the regex and
+ * built the formatter on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputUtilsBenchmark {
+
+    private final String filterValue = " priority ";
+    private final String date = LocalDate.now().plusDays(10).toString();
+
+    @Benchmark
+    public String normalize() {
+        return InputUtils.normalize(filterValue);
+    }
+
+    @Benchmark
+    public String normalizeBaseline() {
+        return filterValue.replaceAll("\\s+", "");
+    }
+
+    @Benchmark
+    public boolean isValidDate() {
+        return InputUtils.isValidDate(date);
+    }
+
+    @Benchmark
+    public boolean isValidDateBaseline() {
+        try {
+            LocalDate.parse(date, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.TaskPrioritizationAPI.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator for comparing the platform-thread pool with the
+ * virtual-thread mode. Start the application once normally and once with
+ * --spring.profiles.active=virtual, then run against each:
+ *
+ *   java -cp target/test-classes com.TaskPrioritizationAPI.benchmark.LoadTestHarness \
+ *       http://localhost:8080/tasks/sort?limit=50 1000 60
+ *
+ * Arguments: url, concurrent clients (default 1000), duration in seconds (default 60).
+ * Prints throughput, error count and p50/p99/p99.9/max latency.
+ */
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args.length > 0 ? args[0] : "http://localhost:8080/tasks/sort?limit=50");
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 60);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        List<Future<long[]>> results = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                results.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] all = results.stream().flatMapToLong(future -> {
+            try {
+                return Arrays.stream(future.get());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).sorted().toArray();
+
+        System.out.printf("url=%s clients=%d duration=%ds%n", uri, clients, duration.toSeconds());
+        System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n",
+                all.length, errors.get(), all.length / (double) duration.toSeconds());
+        System.out.printf("latency ms p50=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999), percentile(all, 1.0));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+}
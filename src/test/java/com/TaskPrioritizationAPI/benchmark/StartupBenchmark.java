@@ -0,0 +1,63 @@
+package com.TaskPrioritizationAPI.benchmark;
+
+import com.TaskPrioritizationAPI.TaskPrioritizationApiApplication;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first request: from SpringApplication.run() until GET /tasks/sort has answered, in the default
+ * setup ("h2") and with the fast-start profile on top ("h2,prod"). Every measurement runs in a fresh JVM,
+ * so class loading and JIT warm-up count as they do for a new pod.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+
+    @Param({"h2", "h2,prod"})
+    private String profiles;
+
+    private ConfigurableApplicationContext context;
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(TaskPrioritizationApiApplication.class)
+                .profiles(profiles.split(","))
+                .properties("server.port=0")
+                .run();
+        String port = context.getEnvironment().getProperty("local.server.port");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/tasks/sort?limit=10")).GET().build();
+        HttpResponse<Void> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("First request failed with status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StartupBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
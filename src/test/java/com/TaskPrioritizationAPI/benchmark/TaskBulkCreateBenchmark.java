@@ -0,0 +1,82 @@
+package com.TaskPrioritizationAPI.benchmark;
+
+import com.TaskPrioritizationAPI.TaskPrioritizationApiApplication;
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.payload.response.BulkTaskResult;
+import com.TaskPrioritizationAPI.services.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tasks created per second by POST /tasks/bulk (createTasks) against a loop of single
+ * createTask calls. Both create BATCH new tasks per invocation, so the two scores compare
+ * directly. In-memory H2 makes a round trip almost free, which hides most of what batching
+ * saves; run with -p profile=default (and DATABASE_URL) to measure against MySQL.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskBulkCreateBenchmark {
+
+    private static final int BATCH = 1000;
+
+    @Param({"h2"})
+    private String profile;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private long invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskPrioritizationApiApplication.class)
+                .profiles(profile)
+                .properties("task.cache.max-size=0", "task.seed.enabled=false")
+                .web(WebApplicationType.NONE)
+                .run();
+        taskService = context.getBean(TaskService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<BulkTaskResult> bulkCreate() {
+        return taskService.createTasks(nextBatch("Bulk").iterator());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<TaskDTO> singleCreateLoop() {
+        List<TaskDTO> created = new ArrayList<>(BATCH);
+        for (TaskRequest request : nextBatch("Single")) {
+            created.add(taskService.createTask(request));
+        }
+        return created;
+    }
+
+    // Titles never repeat, so every request creates a task instead of failing the duplicate check.
+    private List<TaskRequest> nextBatch(String prefix) {
+        long batch = invocation++;
+        List<TaskRequest> requests = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            requests.add(new TaskRequest(prefix + " " + batch + "-" + i, "Description",
+                    LocalDate.now().plusDays(1 + i % 365), i % 10 == 0));
+        }
+        return requests;
+    }
+}
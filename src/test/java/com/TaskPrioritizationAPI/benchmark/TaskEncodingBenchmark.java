@@ -0,0 +1,75 @@
+package com.TaskPrioritizationAPI.benchmark;
+
+import com.TaskPrioritizationAPI.config.CompactFormatConfig;
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.payload.response.TaskPageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost of encoding a /tasks/sort page as JSON (what the API sends by default), CBOR and Smile, each with
+ * and without gzip as the server compression applies it. The encoded size of every variant is printed
+ * once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskEncodingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int taskCount;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private TaskPageResponse page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "cbor" -> CompactFormatConfig.compact(Jackson2ObjectMapperBuilder.cbor().build());
+            case "smile" -> CompactFormatConfig.compact(Jackson2ObjectMapperBuilder.smile().build());
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        Random random = new Random(42);
+        Priority[] priorities = Priority.values();
+        List<TaskDTO> tasks = new ArrayList<>(taskCount);
+        for (long id = 1; id <= taskCount; id++) {
+            tasks.add(new TaskDTO(id, "Task " + id, "Description " + id,
+                    priorities[random.nextInt(priorities.length)],
+                    LocalDate.now().plusDays(random.nextInt(365)),
+                    random.nextBoolean(), (long) random.nextInt(5)));
+        }
+        page = new TaskPageResponse(tasks, "eyJpZCI6MTAwMH0");
+        System.out.printf("%n%s, %d tasks: %d bytes, %d bytes gzipped%n", format, taskCount, encode().length, encodeGzipped().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] encodeGzipped() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(gzip, page);
+        }
+        return bytes.toByteArray();
+    }
+}
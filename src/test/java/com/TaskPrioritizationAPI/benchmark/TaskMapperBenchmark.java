@@ -0,0 +1,46 @@
+package com.TaskPrioritizationAPI.benchmark;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.mappers.TaskMapper;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.models.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int taskCount;
+
+    private List<Task> tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        Priority[] priorities = Priority.values();
+        tasks = new ArrayList<>(taskCount);
+        for (long id = 1; id <= taskCount; id++) {
+            tasks.add(new Task(id, "Task " + id, "Description " + id,
+                    priorities[random.nextInt(priorities.length)],
+                    LocalDate.now().plusDays(random.nextInt(365)),
+                    random.nextBoolean()));
+        }
+    }
+
+    @Benchmark
+    public List<TaskDTO> toDTO() {
+        return tasks.stream().map(TaskMapper::toDTO).collect(Collectors.toList());
+    }
+}
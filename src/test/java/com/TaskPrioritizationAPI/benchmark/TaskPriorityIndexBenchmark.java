@@ -0,0 +1,79 @@
+package com.TaskPrioritizationAPI.benchmark;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.index.TaskPriorityIndex;
+import com.TaskPrioritizationAPI.mappers.TaskMapper;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.models.Task;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares answering "next K tasks" from {@link TaskPriorityIndex} against the
+ * previous approach of sorting every task in memory and taking the head.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskPriorityIndexBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"10", "100"})
+    private int limit;
+
+    private List<Task> tasks;
+    private TaskPriorityIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        Priority[] priorities = Priority.values();
+        tasks = new ArrayList<>(taskCount);
+        index = new TaskPriorityIndex();
+        for (long id = 1; id <= taskCount; id++) {
+            Task task = new Task(id, "Task " + id, "Description " + id,
+                    priorities[random.nextInt(priorities.length)],
+                    LocalDate.now().plusDays(random.nextInt(365)),
+                    random.nextInt(10) == 0);
+            tasks.add(task);
+            index.put(task);
+        }
+    }
+
+    @Benchmark
+    public List<TaskDTO> sortInMemory() {
+        List<Task> copy = new ArrayList<>(tasks);
+        copy.sort(Comparator.comparing(Task::getPriority).thenComparing(Task::getDueDate));
+        return copy.stream()
+                .filter(task -> !task.isCompleted())
+                .limit(limit)
+                .map(TaskMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<TaskDTO> priorityIndex() {
+        return index.top(limit);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskPriorityIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
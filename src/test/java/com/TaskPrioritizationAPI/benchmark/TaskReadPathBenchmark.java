@@ -0,0 +1,111 @@
+package com.TaskPrioritizationAPI.benchmark;
+
+import com.TaskPrioritizationAPI.TaskPrioritizationApiApplication;
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.mappers.TaskMapper;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.repositories.specifications.TaskFilterCriteria;
+import com.TaskPrioritizationAPI.repositories.specifications.TaskSpecifications;
+import com.TaskPrioritizationAPI.services.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity hydration + TaskMapper versus DTO projections in read-only transactions,
+ * for the /tasks/sort and /tasks/filter queries over 100k rows in the H2 profile.
+ * Run with "-prof gc" to see the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskReadPathBenchmark {
+
+    @Param({"100000"})
+    private int taskCount;
+
+    @Param({"1000"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private TaskFilterCriteria criteria;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskPrioritizationApiApplication.class)
+                .profiles("h2")
+                .web(WebApplicationType.NONE)
+                .run();
+        taskRepository = context.getBean(TaskRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        criteria = new TaskFilterCriteria(false, null, null, null, null);
+        context.getBean(TaskService.class).createTasks(TaskServiceBenchmark.syntheticTasks(taskCount));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskDTO> sortEntities() {
+        Pageable pageable = PageRequest.of(0, pageSize, Sort.by("dueDate", "id"));
+        return readWrite.execute(status -> taskRepository.findAll(pageable).stream()
+                .map(TaskMapper::toDTO)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<TaskDTO> sortProjection() {
+        return readOnly.execute(status -> taskRepository.findPageByDueDate(PageRequest.of(0, pageSize)));
+    }
+
+    @Benchmark
+    public List<TaskDTO> sortProjectionByPriority() {
+        return readOnly.execute(status -> taskRepository.findPageByPriority(Priority.HIGH, PageRequest.of(0, pageSize)));
+    }
+
+    @Benchmark
+    public List<TaskDTO> filterEntities() {
+        Pageable pageable = PageRequest.of(0, pageSize, Sort.by("dueDate", "id"));
+        return readWrite.execute(status -> taskRepository.findAll(TaskSpecifications.matching(criteria), pageable).stream()
+                .map(TaskMapper::toDTO)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<TaskDTO> filterProjection() {
+        Pageable pageable = PageRequest.of(0, pageSize, Sort.by("dueDate", "id"));
+        return readOnly.execute(status -> taskRepository.findDTOs(TaskSpecifications.matching(criteria), pageable).getContent());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskReadPathBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,118 @@
+package com.TaskPrioritizationAPI.benchmark;
+
+import com.TaskPrioritizationAPI.TaskPrioritizationApiApplication;
+import com.TaskPrioritizationAPI.payload.request.TaskFilterRequest;
+import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.payload.response.TaskFilterPageResponse;
+import com.TaskPrioritizationAPI.payload.response.TaskPageResponse;
+import com.TaskPrioritizationAPI.services.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskServiceImpl read paths against the H2 stand-in. The cache is sized to zero so
+ * every invocation reaches the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private String deepPriorityCursor;
+    private TaskFilterRequest singleFilter;
+    private TaskFilterRequest combinedFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskPrioritizationApiApplication.class)
+                .profiles("h2")
+                .properties("task.cache.max-size=0")
+                .web(WebApplicationType.NONE)
+                .run();
+        taskService = context.getBean(TaskService.class);
+        taskService.createTasks(syntheticTasks(taskCount));
+
+        // Cursor roughly half way through the priority order, to measure a deep page.
+        TaskPageResponse page = taskService.getTasksSorted("priority", null, 1000);
+        for (int i = 0; i < taskCount / 2000 && page.nextCursor() != null; i++) {
+            page = taskService.getTasksSorted("priority", page.nextCursor(), 1000);
+        }
+        deepPriorityCursor = page.nextCursor();
+
+        singleFilter = new TaskFilterRequest("priority", "HIGH", null, null, null, null, null);
+        combinedFilter = new TaskFilterRequest(null, null, "false", "MEDIUM",
+                LocalDate.now().plusDays(7), LocalDate.now().plusDays(60), "Task 1");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskPageResponse sortByPriorityFirstPage() {
+        return taskService.getTasksSorted("priority", null, pageSize);
+    }
+
+    @Benchmark
+    public TaskPageResponse sortByPriorityDeepPage() {
+        return taskService.getTasksSorted("priority", deepPriorityCursor, pageSize);
+    }
+
+    @Benchmark
+    public TaskPageResponse sortByDateFirstPage() {
+        return taskService.getTasksSorted("date", null, pageSize);
+    }
+
+    @Benchmark
+    public TaskFilterPageResponse filterSingle() {
+        return taskService.getTasksByFilter(singleFilter, 0, pageSize);
+    }
+
+    @Benchmark
+    public TaskFilterPageResponse filterCombined() {
+        return taskService.getTasksByFilter(combinedFilter, 0, pageSize);
+    }
+
+    @Benchmark
+    public long countCombined() {
+        return taskService.countTasksByFilter(combinedFilter);
+    }
+
+    static Iterator<TaskRequest> syntheticTasks(int count) {
+        Random random = new Random(42);
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public TaskRequest next() {
+                int i = next++;
+                return new TaskRequest("Task " + i, "Description for task " + i,
+                        LocalDate.now().plusDays(1 + random.nextInt(365)), random.nextInt(10) == 0);
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.TaskPrioritizationAPI.cache;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.payload.response.TaskFilterPageResponse;
+import com.TaskPrioritizationAPI.repositories.specifications.TaskFilterCriteria;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCacheTest {
+
+    private final TaskCache cache = new TaskCache(100, Duration.ofMinutes(1));
+
+    @Test
+    void testFilterResultReadBeforeAWriteIsNotServedAfterIt() {
+        TaskFilterCriteria highOpen = new TaskFilterCriteria(false, Priority.HIGH, null, null, null);
+        TaskDTO written = new TaskDTO(1L, "Task", "Description", Priority.HIGH, LocalDate.now().plusDays(2), false);
+
+        long generation = cache.filterGeneration(highOpen);
+        // The write commits and evicts while the query is still running.
+        cache.evict(1L, written);
+        cache.putFilterPage(highOpen, generation, 0, 20, new TaskFilterPageResponse(List.of(), 0, 20, 0, 0));
+        cache.putFilterCount(highOpen, generation, 0L);
+
+        assertNull(cache.getFilterPage(highOpen, 0, 20));
+        assertNull(cache.getFilterCount(highOpen));
+
+        long current = cache.filterGeneration(highOpen);
+        cache.putFilterCount(highOpen, current, 1L);
+
+        assertEquals(1L, cache.getFilterCount(highOpen));
+    }
+
+    @Test
+    void testWriteEvictsOnlyTheBucketsOfItsStates() {
+        TaskFilterCriteria lowOpen = new TaskFilterCriteria(false, Priority.LOW, null, null, null);
+        TaskFilterCriteria highOpen = new TaskFilterCriteria(false, Priority.HIGH, null, null, null);
+        cache.putFilterCount(lowOpen, cache.filterGeneration(lowOpen), 3L);
+        cache.putFilterCount(highOpen, cache.filterGeneration(highOpen), 4L);
+
+        cache.evict(1L, new TaskDTO(1L, "Task", "Description", Priority.HIGH, LocalDate.now().plusDays(2), false));
+
+        assertEquals(3L, cache.getFilterCount(lowOpen));
+        assertNull(cache.getFilterCount(highOpen));
+    }
+
+    @Test
+    void testTaskReadBeforeAnEvictionIsNotCached() {
+        TaskDTO stale = new TaskDTO(1L, "Old", "Description", Priority.LOW, LocalDate.now().plusDays(30), false, 1L);
+
+        long token = cache.taskToken(1L);
+        cache.evictTask(1L);
+        cache.putTask(stale, token);
+
+        assertNull(cache.getTask(1L));
+
+        cache.putTask(stale, cache.taskToken(1L));
+
+        assertSame(stale, cache.getTask(1L));
+    }
+}
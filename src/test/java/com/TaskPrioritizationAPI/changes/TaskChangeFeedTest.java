@@ -0,0 +1,124 @@
+package com.TaskPrioritizationAPI.changes;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.TaskChange;
+import com.TaskPrioritizationAPI.models.TaskChangeType;
+import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.payload.response.TaskChangeEvent;
+import com.TaskPrioritizationAPI.payload.response.TaskChangesResponse;
+import com.TaskPrioritizationAPI.repositories.TaskChangeRepository;
+import com.TaskPrioritizationAPI.services.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "task.changes.gap-timeout=300ms")
+@ActiveProfiles("h2")
+class TaskChangeFeedTest {
+
+    @Autowired
+    private TaskChangeFeed taskChangeFeed;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskChangeRepository taskChangeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testCreateUpdateAndDeleteAreReadInOrderFromTheCursor() {
+        String since = latestCursor();
+        TaskDTO created = createTask("Change feed");
+        TaskDTO patch = new TaskDTO();
+        patch.setDescription("Updated");
+        taskService.updateTask(created.getId(), patch);
+        taskService.deleteTask(created.getId());
+
+        TaskChangesResponse response = taskChangeFeed.read(since, 10);
+
+        List<TaskChangeEvent> changes = response.changes();
+        assertEquals(List.of(TaskChangeType.CREATED, TaskChangeType.UPDATED, TaskChangeType.DELETED),
+                changes.stream().map(TaskChangeEvent::type).toList());
+        assertTrue(changes.stream().allMatch(change -> created.getId().equals(change.taskId())));
+        assertEquals("Updated", changes.get(1).task().getDescription());
+        assertEquals(1L, changes.get(1).task().getVersion());
+        assertTrue(changes.get(0).seq() < changes.get(1).seq() && changes.get(1).seq() < changes.get(2).seq());
+        assertTrue(taskChangeFeed.read(response.next(), 10).changes().isEmpty());
+    }
+
+    @Test
+    void testWaitingReaderIsAnsweredByTheNextCommit() throws InterruptedException {
+        String since = latestCursor();
+        DeferredResult<TaskChangesResponse> result = taskChangeFeed.poll(since, null, Duration.ofSeconds(10));
+        assertFalse(result.hasResult());
+
+        TaskDTO created = createTask("Long poll");
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!result.hasResult() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        TaskChangesResponse response = (TaskChangesResponse) result.getResult();
+        assertNotNull(response);
+        assertEquals(created.getId(), response.changes().get(0).taskId());
+        assertEquals(TaskChangeType.CREATED, response.changes().get(0).type());
+    }
+
+    @Test
+    void testHoleIsWaitedOnFromWhenItIsSeenNotFromTheChangeTime() throws InterruptedException {
+        String since = latestCursor();
+        long taskId = -System.nanoTime();
+        // A rolled-back insert leaves a hole in the seqs.
+        transactionTemplate.execute(status -> {
+            taskChangeRepository.append(List.of(new TaskChange(null, taskId, TaskChangeType.CREATED, null, Instant.now())));
+            status.setRollbackOnly();
+            return null;
+        });
+        // Committed after the hole, but stamped an hour ago (a long transaction, or a writer with a slow clock).
+        transactionTemplate.execute(status -> {
+            taskChangeRepository.append(List.of(new TaskChange(null, taskId, TaskChangeType.UPDATED, null, Instant.now().minus(Duration.ofHours(1)))));
+            return null;
+        });
+        TaskChangesResponse first = taskChangeFeed.read(since, 10);
+        assertTrue(first.changes().isEmpty());
+        assertEquals(since, first.next());
+
+        Thread.sleep(400);
+
+        List<TaskChangeEvent> changes = taskChangeFeed.read(since, 10).changes();
+        assertEquals(List.of(TaskChangeType.UPDATED), changes.stream()
+                .filter(change -> change.taskId() == taskId).map(TaskChangeEvent::type).toList());
+    }
+
+    @Test
+    void testRejectsCursorForAnotherShardCount() {
+        assertThrows(IllegalArgumentException.class, () -> taskChangeFeed.read("1,2", 10));
+        assertThrows(IllegalArgumentException.class, () -> taskChangeFeed.read("-1", 10));
+    }
+
+    private String latestCursor() {
+        TaskChangesResponse response = taskChangeFeed.read(null, 1000);
+        while (!response.changes().isEmpty()) {
+            response = taskChangeFeed.read(response.next(), 1000);
+        }
+        return response.next();
+    }
+
+    private TaskDTO createTask(String title) {
+        return taskService.createTask(new TaskRequest(title + " " + System.nanoTime(), "Description",
+                LocalDate.now().plusDays(10), false));
+    }
+}
@@ -0,0 +1,115 @@
+package com.TaskPrioritizationAPI.controllers;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.payload.response.BulkTaskResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"reactive", "reactive-h2"})
+class ReactiveTaskControllerTest {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM tasks").fetch().rowsUpdated().block();
+    }
+
+    @Test
+    void testCreateAndGetTask() {
+        TaskDTO created = create(new TaskRequest("Reactive Task", "Description", LocalDate.now().plusDays(30), false));
+
+        assertNotNull(created.getId());
+        assertEquals(Priority.LOW, created.getPriority());
+        webTestClient.get().uri("/tasks/get-task/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Task.class)
+                .value(task -> assertEquals("Reactive Task", task.getTitle()));
+    }
+
+    @Test
+    void testSortByPriorityStreamsBucketsInEnumOrder() {
+        create(new TaskRequest("Low", "Description", LocalDate.now().plusDays(30), false));
+        create(new TaskRequest("Medium", "Description", LocalDate.now().plusDays(10), false));
+        create(new TaskRequest("High", "Description", LocalDate.now().plusDays(40), true));
+
+        StepVerifier.create(webTestClient.get().uri("/tasks/sort?sort=priority")
+                        .accept(NDJSON)
+                        .exchange()
+                        .expectStatus().isOk()
+                        .returnResult(TaskDTO.class)
+                        .getResponseBody())
+                .assertNext(task -> assertEquals(Priority.HIGH, task.getPriority()))
+                .assertNext(task -> assertEquals(Priority.MEDIUM, task.getPriority()))
+                .assertNext(task -> assertEquals(Priority.LOW, task.getPriority()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testBulkCreateReportsDuplicatesPerItem() {
+        LocalDate dueDate = LocalDate.now().plusDays(30);
+        List<TaskRequest> requests = List.of(
+                new TaskRequest("Bulk", "Description", dueDate, false),
+                new TaskRequest("Bulk", "Description", dueDate, false),
+                new TaskRequest("Past", "Description", LocalDate.now().minusDays(1), false));
+
+        List<BulkTaskResult> results = webTestClient.post().uri("/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requests)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BulkTaskResult.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(results);
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).success());
+        assertFalse(results.get(1).success());
+        assertFalse(results.get(2).success());
+        webTestClient.get().uri("/tasks/filter/count?completed=false")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Long.class).isEqualTo(1L);
+    }
+
+    @Test
+    void testDeleteMissingTaskReturnsNotFound() {
+        webTestClient.delete().uri("/tasks/delete/{id}", 404L)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private TaskDTO create(TaskRequest request) {
+        return webTestClient.post().uri("/tasks/create")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TaskDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
@@ -0,0 +1,101 @@
+package com.TaskPrioritizationAPI.controllers;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.services.TaskService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "task.cache.max-size=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class TaskControllerFormatTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void testBinaryFormatsCarryEpochDaysAndPriorityOrdinals() throws Exception {
+        TaskDTO created = taskService.createTask(new TaskRequest("Binary " + System.nanoTime(), "Description",
+                LocalDate.now().plusDays(1), true));
+
+        JsonNode smile = fetch(SMILE, new ObjectMapper(new SmileFactory()), created.getTitle());
+        JsonNode cbor = fetch(CBOR, new ObjectMapper(new CBORFactory()), created.getTitle());
+
+        for (JsonNode task : new JsonNode[]{smile, cbor}) {
+            assertEquals(created.getId().longValue(), task.get("id").asLong());
+            assertEquals(created.getDueDate().toEpochDay(), task.get("dueDate").asLong());
+            assertTrue(task.get("priority").isInt());
+            assertEquals(created.getPriority().ordinal(), task.get("priority").asInt());
+        }
+    }
+
+    @Test
+    void testJsonStaysTheDefault() throws Exception {
+        mockMvc.perform(get("/tasks/sort").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testExportIsNewlineDelimitedJsonWithOneLinePerTask() throws Exception {
+        TaskDTO created = taskService.createTask(new TaskRequest("Export " + System.nanoTime(), "Description",
+                LocalDate.now().plusDays(3), false));
+
+        MvcResult started = mockMvc.perform(get("/tasks/export")).andExpect(request().asyncStarted()).andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(taskRepository.count(), lines.length);
+        ObjectMapper reader = new ObjectMapper();
+        boolean found = false;
+        for (String line : lines) {
+            found |= reader.readTree(line).get("id").asLong() == created.getId();
+        }
+        assertTrue(found);
+    }
+
+    private JsonNode fetch(MediaType format, ObjectMapper reader, String title) throws Exception {
+        MvcResult result = mockMvc.perform(get("/tasks/filter").param("titlePrefix", title).accept(format))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(format))
+                .andReturn();
+        JsonNode tasks = reader.readTree(result.getResponse().getContentAsByteArray()).get("tasks");
+        assertEquals(1, tasks.size());
+        return tasks.get(0);
+    }
+}
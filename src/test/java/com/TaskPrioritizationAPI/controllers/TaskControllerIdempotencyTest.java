@@ -0,0 +1,107 @@
+package com.TaskPrioritizationAPI.controllers;
+
+import com.TaskPrioritizationAPI.exceptions.TaskAlreadyExistsException;
+import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.services.TaskService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class TaskControllerIdempotencyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void testRetryWithTheSameKeyReplaysTheCreatedTask() throws Exception {
+        TaskRequest request = newRequest("Idempotent");
+        String key = "create-" + System.nanoTime();
+
+        JsonNode first = readTask(create(request, key).andExpect(status().isCreated()));
+        JsonNode retried = readTask(create(request, key).andExpect(status().isCreated()));
+
+        assertEquals(first, retried);
+        // Without the key the same request is a duplicate.
+        create(request, null).andExpect(status().isConflict());
+    }
+
+    @Test
+    void testKeyReusedForAnotherTaskIsRejected() throws Exception {
+        String key = "create-" + System.nanoTime();
+        create(newRequest("First"), key).andExpect(status().isCreated());
+
+        create(newRequest("Second"), key).andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void testConcurrentCreatesOfTheSameTaskLeaveOne() throws Exception {
+        TaskRequest request = newRequest("Concurrent");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit((Callable<Object>) () -> taskService.createTask(request)));
+            }
+            int created = 0;
+            for (Future<?> result : results) {
+                try {
+                    result.get(10, TimeUnit.SECONDS);
+                    created++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(TaskAlreadyExistsException.class, e.getCause());
+                }
+            }
+            assertEquals(1, created);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ResultActions create(TaskRequest request, String idempotencyKey) throws Exception {
+        var builder = post("/tasks/create")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(request));
+        if (idempotencyKey != null) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        return mockMvc.perform(builder);
+    }
+
+    private JsonNode readTask(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsByteArray());
+    }
+
+    private static TaskRequest newRequest(String title) {
+        return new TaskRequest(title + " " + System.nanoTime(), "Description", LocalDate.now().plusDays(15), false);
+    }
+}
@@ -0,0 +1,53 @@
+package com.TaskPrioritizationAPI.controllers;
+
+import com.TaskPrioritizationAPI.ratelimit.RateLimitInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "task.rate-limit.enabled=true",
+        "task.rate-limit.capacity=2",
+        "task.rate-limit.refill-per-second=0.01"})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class TaskControllerRateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testClientOverItsBurstGets429UntilRefilled() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/tasks/sort").param("limit", "1").header("X-API-Key", "dashboard"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(RateLimitInterceptor.LIMIT_HEADER, "2"));
+        }
+
+        mockMvc.perform(get("/tasks/sort").param("limit", "1").header("X-API-Key", "dashboard"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(header().string(RateLimitInterceptor.REMAINING_HEADER, "0"));
+    }
+
+    @Test
+    void testClientsHaveSeparateBuckets() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/tasks/sort").param("limit", "1").header("X-API-Key", "busy"));
+        }
+
+        mockMvc.perform(get("/tasks/sort").param("limit", "1").header("X-API-Key", "quiet"))
+                .andExpect(status().isOk());
+        // Without a key the client is its address, which has its own bucket as well.
+        mockMvc.perform(get("/tasks/sort").param("limit", "1"))
+                .andExpect(status().isOk());
+    }
+}
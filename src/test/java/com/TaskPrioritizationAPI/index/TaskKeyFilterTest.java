@@ -0,0 +1,56 @@
+package com.TaskPrioritizationAPI.index;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.services.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "task.create.key-filter.expected-keys=20000")
+@ActiveProfiles("h2")
+class TaskKeyFilterTest {
+
+    @Autowired
+    private TaskKeyFilter taskKeyFilter;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void testCreatedAndRebuiltKeysAreNeverRuledOut() {
+        LocalDate dueDate = LocalDate.now().plusDays(20);
+        TaskDTO created = taskService.createTask(new TaskRequest("Key filter " + System.nanoTime(), "Description", dueDate, false));
+
+        assertTrue(taskKeyFilter.mightExist(created.getTitle(), dueDate));
+        assertTrue(taskKeyFilter.mightExist(created.getTitle().toUpperCase(), dueDate));
+
+        taskKeyFilter.rebuild();
+
+        assertTrue(taskKeyFilter.mightExist(created.getTitle(), dueDate));
+    }
+
+    @Test
+    void testFalsePositiveRateStaysNearTheConfiguredRate() {
+        LocalDate dueDate = LocalDate.now().plusDays(400);
+        String prefix = "Filled " + System.nanoTime() + " ";
+        for (int i = 0; i < 10_000; i++) {
+            taskKeyFilter.put(prefix + i, dueDate);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (taskKeyFilter.mightExist(prefix + "absent " + i, dueDate)) {
+                falsePositives++;
+            }
+        }
+
+        // Sized for 20000 keys at 1%, so half full it should stay well below that.
+        assertTrue(falsePositives < 100, "false positives: " + falsePositives);
+    }
+}
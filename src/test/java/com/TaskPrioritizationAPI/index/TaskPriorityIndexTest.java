@@ -0,0 +1,94 @@
+package com.TaskPrioritizationAPI.index;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TaskPriorityIndexTest {
+
+    private final TaskPriorityIndex index = new TaskPriorityIndex();
+
+    @Test
+    void testTopOrdersByPriorityThenDueDate() {
+        index.put(new Task(1L, "Low", "Description", Priority.LOW, LocalDate.now().plusDays(1), false));
+        index.put(new Task(2L, "High later", "Description", Priority.HIGH, LocalDate.now().plusDays(5), false));
+        index.put(new Task(3L, "High sooner", "Description", Priority.HIGH, LocalDate.now().plusDays(2), false));
+        index.put(new Task(4L, "Medium", "Description", Priority.MEDIUM, LocalDate.now().plusDays(10), false));
+
+        List<TaskDTO> next = index.top(3);
+
+        assertEquals(List.of("High sooner", "High later", "Medium"), next.stream().map(TaskDTO::getTitle).toList());
+    }
+
+    @Test
+    void testPutReplacesExistingEntryAndDropsCompletedTasks() {
+        index.put(new Task(1L, "Task", "Description", Priority.LOW, LocalDate.now().plusDays(30), false));
+        index.put(new Task(1L, "Task", "Description", Priority.HIGH, LocalDate.now().plusDays(30), false));
+
+        assertEquals(1, index.size());
+        assertEquals(Priority.HIGH, index.top(1).get(0).getPriority());
+
+        index.put(new Task(1L, "Task", "Description", Priority.LOW, LocalDate.now().plusDays(30), true));
+
+        assertEquals(0, index.size());
+        assertTrue(index.top(10).isEmpty());
+    }
+
+    @Test
+    void testRemove() {
+        index.put(new Task(1L, "Task", "Description", Priority.MEDIUM, LocalDate.now().plusDays(10), false));
+
+        index.remove(1L);
+        index.remove(2L);
+
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testRebuildKeepsServingTheOldIndexAndReplaysWritesMadeMeanwhile() {
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        TaskShards taskShards = mock(TaskShards.class);
+        ReflectionTestUtils.setField(index, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(index, "taskShards", taskShards);
+        ReflectionTestUtils.setField(index, "entityManager", mock(EntityManager.class));
+        when(taskShards.readEachShard(any())).thenAnswer(invocation -> Collections.singletonList(invocation.<Supplier<?>>getArgument(0).get()));
+        index.put(new Task(1L, "Stored", "Description", Priority.MEDIUM, LocalDate.now().plusDays(10), false));
+        index.put(new Task(2L, "Deleted during rebuild", "Description", Priority.HIGH, LocalDate.now().plusDays(3), false));
+        List<Integer> sizesSeenDuringRebuild = new ArrayList<>();
+        // The stream still returns task 2 and the old state of task 1, as a snapshot read before the writes would.
+        when(taskRepository.streamByIsCompletedFalse()).thenAnswer(invocation -> Stream.of(
+                        new Task(1L, "Stored", "Description", Priority.MEDIUM, LocalDate.now().plusDays(10), false),
+                        new Task(2L, "Deleted during rebuild", "Description", Priority.HIGH, LocalDate.now().plusDays(3), false))
+                .peek(task -> {
+                    if (task.getId() == 1L) {
+                        index.remove(2L);
+                        index.put(new Task(1L, "Stored", "Description", Priority.HIGH, LocalDate.now().plusDays(10), false));
+                        index.put(new Task(3L, "Created during rebuild", "Description", Priority.LOW, LocalDate.now().plusDays(40), false));
+                    }
+                    sizesSeenDuringRebuild.add(index.size());
+                }));
+
+        index.rebuild();
+
+        assertEquals(List.of(2, 2), sizesSeenDuringRebuild);
+        assertEquals(2, index.size());
+        assertEquals(List.of(1L, 3L), index.top(10).stream().map(TaskDTO::getId).toList());
+        assertEquals(Priority.HIGH, index.top(1).get(0).getPriority());
+    }
+}
@@ -0,0 +1,153 @@
+package com.TaskPrioritizationAPI.index;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TaskSearchIndexTest {
+
+    private final TaskSearchIndex index = new TaskSearchIndex();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index.init();
+        index.put(new Task(1L, "Quarterly report", "Collect numbers from finance", Priority.HIGH, LocalDate.now().plusDays(2), false));
+        index.put(new Task(2L, "Team offsite", "Book the venue and prepare the quarterly report slides", Priority.LOW, LocalDate.now().plusDays(40), false));
+        index.put(new Task(3L, "Report bug", "Login page crashes", Priority.MEDIUM, LocalDate.now().plusDays(9), true));
+        index.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void testTitleMatchesRankAboveDescriptionMatches() {
+        Page<TaskDTO> results = index.search("quarterly report", null, null, 0, 10);
+
+        assertEquals(List.of(1L, 2L), results.getContent().stream().map(TaskDTO::getId).toList());
+        assertEquals(2, results.getTotalElements());
+        assertEquals("Collect numbers from finance", results.getContent().get(0).getDescription());
+    }
+
+    @Test
+    void testFiltersAndPaging() {
+        assertEquals(List.of(3L), ids(index.search("report", null, true, 0, 10)));
+        assertEquals(List.of(2L), ids(index.search("report", Priority.LOW, null, 0, 10)));
+
+        Page<TaskDTO> second = index.search("report", null, null, 1, 2);
+        assertEquals(3, second.getTotalElements());
+        assertEquals(2, second.getTotalPages());
+        assertEquals(1, second.getNumberOfElements());
+    }
+
+    @Test
+    void testUpdatesAndRemovalsShowUpAfterRefresh() throws IOException {
+        index.put(new Task(1L, "Annual summary", "Collect numbers from finance", Priority.HIGH, LocalDate.now().plusDays(2), false));
+        index.remove(3L);
+        index.updatePriority(List.of(2L), Priority.HIGH);
+        index.refresh();
+
+        assertEquals(List.of(2L), ids(index.search("report", null, null, 0, 10)));
+        TaskDTO promoted = index.search("offsite", null, null, 0, 10).getContent().get(0);
+        assertEquals(Priority.HIGH, promoted.getPriority());
+        assertEquals(1L, promoted.getVersion());
+        assertTrue(index.search("\"finance numbers\"", null, null, 0, 10).isEmpty());
+    }
+
+    @Test
+    void testRebuildKeepsServingTheOldIndexAndReplaysWritesMadeMeanwhile() throws IOException {
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        useRepository(index, taskRepository);
+        List<List<Long>> resultsSeenDuringRebuild = new ArrayList<>();
+        // The stream still returns task 3 and the old title of task 1, as a snapshot read before the writes would.
+        when(taskRepository.streamAllByOrderByIdAsc()).thenAnswer(invocation -> Stream.of(
+                        new Task(1L, "Quarterly report", "Collect numbers from finance", Priority.HIGH, LocalDate.now().plusDays(2), false),
+                        new Task(3L, "Report bug", "Login page crashes", Priority.MEDIUM, LocalDate.now().plusDays(9), true))
+                .peek(task -> {
+                    if (task.getId() == 1L) {
+                        index.remove(3L);
+                        index.put(new Task(1L, "Annual summary", "Collect numbers from finance", Priority.HIGH, LocalDate.now().plusDays(2), false));
+                        index.put(new Task(4L, "Report expenses", "Travel costs", Priority.LOW, LocalDate.now().plusDays(20), false));
+                    }
+                    resultsSeenDuringRebuild.add(ids(index.search("report", null, null, 0, 10)));
+                }));
+
+        index.rebuild();
+        index.refresh();
+
+        assertEquals(List.of(List.of(1L, 3L, 2L), List.of(1L, 3L, 2L)), resultsSeenDuringRebuild);
+        assertEquals(List.of(4L), ids(index.search("report", null, null, 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("annual", null, null, 0, 10)));
+    }
+
+    @Test
+    void testIndexOnDiskIsSearchedAfterARestartUntilTheRebuildReplacesIt(@TempDir Path indexDir) throws IOException {
+        TaskSearchIndex before = onDisk(indexDir);
+        before.init();
+        before.put(new Task(1L, "Quarterly report", "Collect numbers from finance", Priority.HIGH, LocalDate.now().plusDays(2), false));
+        before.close();
+
+        TaskSearchIndex after = onDisk(indexDir);
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        useRepository(after, taskRepository);
+        when(taskRepository.streamAllByOrderByIdAsc()).thenAnswer(invocation -> Stream.of(
+                new Task(2L, "Team offsite", "Book the venue", Priority.LOW, LocalDate.now().plusDays(40), false)));
+        after.init();
+        try {
+            assertEquals(List.of(1L), ids(after.search("report", null, null, 0, 10)));
+
+            after.rebuild();
+
+            assertTrue(after.search("report", null, null, 0, 10).isEmpty());
+            assertEquals(List.of(2L), ids(after.search("offsite", null, null, 0, 10)));
+            try (Stream<Path> generations = Files.list(indexDir)) {
+                assertEquals(List.of("2"), generations.map(path -> path.getFileName().toString()).toList());
+            }
+        } finally {
+            after.close();
+        }
+    }
+
+    private static TaskSearchIndex onDisk(Path indexDir) {
+        TaskSearchIndex index = new TaskSearchIndex();
+        ReflectionTestUtils.setField(index, "indexDir", indexDir.toString());
+        return index;
+    }
+
+    private static void useRepository(TaskSearchIndex index, TaskRepository taskRepository) {
+        TaskShards taskShards = mock(TaskShards.class);
+        ReflectionTestUtils.setField(index, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(index, "taskShards", taskShards);
+        ReflectionTestUtils.setField(index, "entityManager", mock(EntityManager.class));
+        when(taskShards.readEachShard(any())).thenAnswer(invocation -> Collections.singletonList(invocation.<Supplier<?>>getArgument(0).get()));
+    }
+
+    private static List<Long> ids(Page<TaskDTO> page) {
+        return page.getContent().stream().map(TaskDTO::getId).toList();
+    }
+}
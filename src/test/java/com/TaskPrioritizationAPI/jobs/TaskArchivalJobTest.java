@@ -0,0 +1,87 @@
+package com.TaskPrioritizationAPI.jobs;
+
+import com.TaskPrioritizationAPI.changes.TaskChangeFeed;
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.models.TaskChangeType;
+import com.TaskPrioritizationAPI.payload.response.TaskChangeEvent;
+import com.TaskPrioritizationAPI.payload.response.TaskChangesResponse;
+import com.TaskPrioritizationAPI.payload.response.TaskPageResponse;
+import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.services.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"task.cache.max-size=0", "task.archive.after-days=90"})
+@ActiveProfiles("h2")
+class TaskArchivalJobTest {
+
+    @Autowired
+    private TaskArchivalJob taskArchivalJob;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskChangeFeed taskChangeFeed;
+
+    @Test
+    void testOldCompletedTasksMoveToTheArchiveAndStayReadable() {
+        String title = "Archival " + System.nanoTime();
+        LocalDate longAgo = LocalDate.now().minusDays(120);
+        Task old = taskRepository.save(new Task(null, title + " old", "Description", Priority.LOW, longAgo, true));
+        Task open = taskRepository.save(new Task(null, title + " open", "Description", Priority.HIGH, longAgo, false));
+        Task recent = taskRepository.save(new Task(null, title + " recent", "Description", Priority.LOW, LocalDate.now().minusDays(30), true));
+        List<TaskChangeEvent> changes = new ArrayList<>();
+        String since = readChanges(null, new ArrayList<>());
+
+        assertTrue(taskArchivalJob.run().archived() >= 1);
+
+        assertTrue(taskRepository.findById(old.getId()).isEmpty());
+        assertTrue(taskRepository.findById(open.getId()).isPresent());
+        assertTrue(taskRepository.findById(recent.getId()).isPresent());
+        assertEquals(title + " old", taskService.getTaskById(old.getId()).getTitle());
+        assertTrue(archivedIds().contains(old.getId()));
+        assertEquals(0, taskArchivalJob.run().archived());
+
+        readChanges(since, changes);
+        List<TaskChangeEvent> archived = changes.stream().filter(change -> old.getId().equals(change.taskId())).toList();
+        assertEquals(1, archived.size());
+        assertEquals(TaskChangeType.ARCHIVED, archived.get(0).type());
+        assertEquals(title + " old", archived.get(0).task().getTitle());
+    }
+
+    // Reads every change after since into changes and returns the cursor after the last one.
+    private String readChanges(String since, List<TaskChangeEvent> changes) {
+        TaskChangesResponse response = taskChangeFeed.read(since, 1000);
+        changes.addAll(response.changes());
+        while (!response.changes().isEmpty()) {
+            response = taskChangeFeed.read(response.next(), 1000);
+            changes.addAll(response.changes());
+        }
+        return response.next();
+    }
+
+    private List<Long> archivedIds() {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPageResponse page = taskService.getArchivedTasks(cursor, 100);
+            page.tasks().stream().map(TaskDTO::getId).forEach(ids::add);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+}
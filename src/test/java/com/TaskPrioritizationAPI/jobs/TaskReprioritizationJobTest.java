@@ -0,0 +1,150 @@
+package com.TaskPrioritizationAPI.jobs;
+
+import com.TaskPrioritizationAPI.cache.TaskCache;
+import com.TaskPrioritizationAPI.changes.TaskChangeFeed;
+import com.TaskPrioritizationAPI.index.TaskPriorityIndex;
+import com.TaskPrioritizationAPI.index.TaskSearchIndex;
+import com.TaskPrioritizationAPI.models.JobWatermark;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.repositories.JobWatermarkRepository;
+import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import com.TaskPrioritizationAPI.stats.TaskStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskReprioritizationJobTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private JobWatermarkRepository jobWatermarkRepository;
+
+    @Mock
+    private TaskPriorityIndex taskPriorityIndex;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskCache taskCache;
+
+    @Mock
+    private TaskStatistics taskStatistics;
+
+    @Mock
+    private TaskShards taskShards;
+
+    @Mock
+    private TaskChangeFeed taskChangeFeed;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private TaskReprioritizationJob job;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(job, "batchSize", 2);
+        ReflectionTestUtils.setField(job, "initialLookbackDays", 365);
+        when(taskShards.count()).thenReturn(1);
+        when(taskShards.onShard(anyInt(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(taskShards).runOnShard(anyInt(), any());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(taskRepository.findIdsToReprioritize(any(), any(), any(), anyLong(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void testFirstRunScansTheInitialLookbackAndSavesTheWatermark() {
+        LocalDate today = LocalDate.now();
+        when(jobWatermarkRepository.findById(TaskReprioritizationJob.WATERMARK)).thenReturn(Optional.empty());
+
+        job.run();
+
+        LocalDate previousRun = today.minusDays(365);
+        verify(taskRepository).findIdsToReprioritize(EnumSet.of(Priority.MEDIUM, Priority.LOW),
+                previousRun.plusDays(Priority.HIGH_PRIORITY_WINDOW_DAYS), today.plusDays(Priority.HIGH_PRIORITY_WINDOW_DAYS), 0L, PageRequest.of(0, 2));
+        verify(taskRepository).findIdsToReprioritize(EnumSet.of(Priority.LOW),
+                previousRun.plusDays(Priority.MEDIUM_PRIORITY_WINDOW_DAYS), today.plusDays(Priority.MEDIUM_PRIORITY_WINDOW_DAYS), 0L, PageRequest.of(0, 2));
+        verify(jobWatermarkRepository).save(argThat(watermark ->
+                watermark.getJobName().equals(TaskReprioritizationJob.WATERMARK) && watermark.getLastRunDate().equals(today)));
+    }
+
+    @Test
+    void testLaterRunScansOnlyTheDaysSinceTheStoredWatermark() {
+        LocalDate today = LocalDate.now();
+        when(jobWatermarkRepository.findById(TaskReprioritizationJob.WATERMARK))
+                .thenReturn(Optional.of(new JobWatermark(TaskReprioritizationJob.WATERMARK, today.minusDays(1))));
+
+        job.run();
+
+        verify(taskRepository).findIdsToReprioritize(any(),
+                eq(today.minusDays(1).plusDays(Priority.HIGH_PRIORITY_WINDOW_DAYS)), eq(today.plusDays(Priority.HIGH_PRIORITY_WINDOW_DAYS)), eq(0L), any());
+        verify(taskRepository).findIdsToReprioritize(any(),
+                eq(today.minusDays(1).plusDays(Priority.MEDIUM_PRIORITY_WINDOW_DAYS)), eq(today.plusDays(Priority.MEDIUM_PRIORITY_WINDOW_DAYS)), eq(0L), any());
+        verifyNoMoreInteractions(taskRepository);
+    }
+
+    @Test
+    void testRunOnTheWatermarkDateScansNothing() {
+        when(jobWatermarkRepository.findById(TaskReprioritizationJob.WATERMARK))
+                .thenReturn(Optional.of(new JobWatermark(TaskReprioritizationJob.WATERMARK, LocalDate.now())));
+
+        ReprioritizationResult result = job.run();
+
+        assertEquals(0, result.promotedToHigh() + result.promotedToMedium());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void testPromotionWalksTheIdsInBatchesUntilAShortBatch() {
+        when(jobWatermarkRepository.findById(TaskReprioritizationJob.WATERMARK)).thenReturn(Optional.empty());
+        when(taskRepository.findIdsToReprioritize(eq(EnumSet.of(Priority.MEDIUM, Priority.LOW)), any(), any(), anyLong(), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(taskRepository.updatePriority(any(), eq(Priority.HIGH))).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        ReprioritizationResult result = job.run();
+
+        assertEquals(3, result.promotedToHigh());
+        assertEquals(0, result.promotedToMedium());
+        verify(taskRepository).findIdsToReprioritize(eq(EnumSet.of(Priority.MEDIUM, Priority.LOW)), any(), any(), eq(0L), any());
+        verify(taskRepository).findIdsToReprioritize(eq(EnumSet.of(Priority.MEDIUM, Priority.LOW)), any(), any(), eq(2L), any());
+        verify(taskRepository).updatePriority(List.of(1L, 2L), Priority.HIGH);
+        verify(taskRepository).updatePriority(List.of(3L), Priority.HIGH);
+        verify(taskStatistics).reconcile();
+        verify(taskCache).evictTasks(List.of(1L, 2L));
+        verify(taskCache).evictTasks(List.of(3L));
+        verify(taskCache).evictPriority(Priority.HIGH);
+        verify(taskCache).evictPriority(Priority.MEDIUM);
+        verify(taskCache).evictPriority(Priority.LOW);
+    }
+}
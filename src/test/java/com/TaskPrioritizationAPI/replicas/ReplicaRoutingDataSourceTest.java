@@ -0,0 +1,80 @@
+package com.TaskPrioritizationAPI.replicas;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica0 = mock(DataSource.class);
+    private final DataSource replica1 = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replica0Connection = mock(Connection.class);
+    private final Connection replica1Connection = mock(Connection.class);
+
+    private final ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica0, replica1),
+            ReplicaProperties.Selection.ROUND_ROBIN, Duration.ofMinutes(1));
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica0.getConnection()).thenReturn(replica0Connection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaContext.clear();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testReadOnlyTransactionsOfReplicaRequestsAlternateBetweenReplicas() throws SQLException {
+        ReplicaContext.allowReplicaReads();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(replica0Connection, dataSource.getConnection());
+        assertSame(replica1Connection, dataSource.getConnection());
+        assertSame(replica0Connection, dataSource.getConnection());
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void testWritesAndRequestsOnThePrimaryUseThePrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, dataSource.getConnection());
+
+        ReplicaContext.allowReplicaReads();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertSame(primaryConnection, dataSource.getConnection());
+
+        verifyNoInteractions(replica0, replica1);
+    }
+
+    @Test
+    void testUnavailableReplicasAreSkippedUntilNoneIsLeft() throws SQLException {
+        ReplicaContext.allowReplicaReads();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica0.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertSame(replica1Connection, dataSource.getConnection());
+        assertSame(replica1Connection, dataSource.getConnection());
+        verify(replica0, times(1)).getConnection();
+
+        when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertSame(primaryConnection, dataSource.getConnection());
+        verify(replica1, times(3)).getConnection();
+    }
+}
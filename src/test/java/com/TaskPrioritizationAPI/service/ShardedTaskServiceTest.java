@@ -0,0 +1,121 @@
+package com.TaskPrioritizationAPI.service;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.payload.request.BulkTaskRequest;
+import com.TaskPrioritizationAPI.payload.request.TaskFilterRequest;
+import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.payload.response.TaskFilterPageResponse;
+import com.TaskPrioritizationAPI.payload.response.TaskPageResponse;
+import com.TaskPrioritizationAPI.services.TaskService;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import com.TaskPrioritizationAPI.sharding.TenantContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Three in-memory H2 shards. Tenants are spread over them by hash, so every test creates tasks for
+ * ten tenants and checks that reads see all of them in one order.
+ */
+@SpringBootTest
+@ActiveProfiles({"h2", "sharded-h2"})
+class ShardedTaskServiceTest {
+
+    private static final int TENANTS = 10;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    @Test
+    void testTasksAreStoredOnTheirTenantsShard() {
+        assertEquals(3, taskShards.count());
+        String prefix = "Placement " + System.nanoTime();
+        Set<Integer> shards = new HashSet<>();
+
+        for (int i = 0; i < TENANTS; i++) {
+            String tenant = "tenant-" + i;
+            TaskDTO created = createTask(prefix + " " + i, tenant, 30);
+            int shard = TenantContext.shardOf(tenant);
+            shards.add(shard);
+
+            assertEquals(shard, created.getId() >>> TaskShards.SHARD_ID_SHIFT);
+            assertEquals(shard, taskShards.shardOfId(created.getId()));
+            assertEquals(prefix + " " + i, taskService.getTaskById(created.getId()).getTitle());
+        }
+        assertTrue(shards.size() > 1, "ten tenants should not all hash to one shard");
+    }
+
+    @Test
+    void testSortedPagesMergeAllShards() {
+        String prefix = "Merged sort " + System.nanoTime();
+        Set<Long> created = new HashSet<>();
+        for (int i = 0; i < TENANTS; i++) {
+            created.add(createTask(prefix + " " + i, "tenant-" + i, 10 + (i * 7) % 13).getId());
+        }
+
+        List<TaskDTO> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPageResponse page = taskService.getTasksSorted("date", cursor, 3);
+            seen.addAll(page.tasks());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        for (int i = 1; i < seen.size(); i++) {
+            TaskDTO previous = seen.get(i - 1);
+            TaskDTO current = seen.get(i);
+            int byDate = previous.getDueDate().compareTo(current.getDueDate());
+            assertTrue(byDate < 0 || (byDate == 0 && previous.getId() < current.getId()),
+                    "page order broken between " + previous.getId() + " and " + current.getId());
+        }
+        assertTrue(seen.stream().map(TaskDTO::getId).toList().containsAll(created));
+    }
+
+    @Test
+    void testFilterPagesAndCountsSpanAllShards() {
+        String prefix = "Merged filter " + System.nanoTime();
+        for (int i = 0; i < TENANTS; i++) {
+            createTask(prefix + " " + i, "tenant-" + i, 20 + i);
+        }
+        TaskFilterRequest filter = new TaskFilterRequest(null, null, null, null, null, null, prefix);
+
+        assertEquals(TENANTS, taskService.countTasksByFilter(filter));
+        TaskFilterPageResponse second = taskService.getTasksByFilter(filter, 1, 4);
+
+        assertEquals(TENANTS, second.totalElements());
+        assertEquals(3, second.totalPages());
+        assertEquals(List.of(prefix + " 4", prefix + " 5", prefix + " 6", prefix + " 7"),
+                second.tasks().stream().map(TaskDTO::getTitle).toList());
+    }
+
+    @Test
+    void testBulkOperationsReachEveryShard() {
+        String prefix = "Bulk sharded " + System.nanoTime();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < TENANTS; i++) {
+            ids.add(createTask(prefix + " " + i, "tenant-" + i, 15).getId());
+        }
+        TaskFilterRequest filter = new TaskFilterRequest(null, null, null, null, null, null, prefix);
+
+        assertEquals(TENANTS, taskService.completeTasks(new BulkTaskRequest(ids, null)).affected());
+        assertEquals(0, taskService.completeTasks(new BulkTaskRequest(null, filter)).affected());
+        assertEquals(TENANTS, taskService.deleteTasks(new BulkTaskRequest(null, filter)).affected());
+        assertEquals(0, taskService.countTasksByFilter(filter));
+    }
+
+    private TaskDTO createTask(String title, String tenant, int daysAhead) {
+        return taskService.createTask(new TaskRequest(title, "", LocalDate.now().plusDays(daysAhead), false, tenant));
+    }
+}
@@ -0,0 +1,82 @@
+package com.TaskPrioritizationAPI.service;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.payload.request.BulkTaskRequest;
+import com.TaskPrioritizationAPI.payload.request.TaskFilterRequest;
+import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.payload.response.TaskStatsResponse;
+import com.TaskPrioritizationAPI.services.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "task.cache.max-size=0")
+@ActiveProfiles("h2")
+class TaskBulkOperationsTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void testCompleteByIdsForcesLowPriorityAndCountsOnlyOpenTasks() {
+        List<Long> ids = createTasks("Bulk complete " + System.nanoTime(), 5, true);
+        TaskStatsResponse before = taskService.getTaskStats();
+
+        assertEquals(3, taskService.completeTasks(new BulkTaskRequest(ids.subList(0, 3), null)).affected());
+        assertEquals(2, taskService.completeTasks(new BulkTaskRequest(ids, null)).affected());
+
+        for (Long id : ids) {
+            Task task = taskService.getTaskById(id);
+            assertTrue(task.isCompleted());
+            assertEquals(Priority.LOW, task.getPriority());
+        }
+        assertEquals(1L, taskService.getTaskById(ids.get(0)).getVersion());
+        TaskStatsResponse after = taskService.getTaskStats();
+        assertEquals(before.openByPriority().get(Priority.HIGH) - 5, after.openByPriority().get(Priority.HIGH).longValue());
+        assertEquals(before.completedByPriority().get(Priority.LOW) + 5, after.completedByPriority().get(Priority.LOW).longValue());
+    }
+
+    @Test
+    void testDeleteByFilterRemovesOnlyMatchingTasks() {
+        String prefix = "Bulk delete " + System.nanoTime();
+        List<Long> ids = createTasks(prefix, 4, false);
+        taskService.completeTasks(new BulkTaskRequest(ids.subList(0, 2), null));
+        TaskFilterRequest completedWithPrefix = new TaskFilterRequest(null, null, "true", null, null, null, prefix);
+
+        assertEquals(2, taskService.deleteTasks(new BulkTaskRequest(null, completedWithPrefix)).affected());
+
+        TaskFilterRequest withPrefix = new TaskFilterRequest(null, null, null, null, null, null, prefix);
+        assertEquals(2, taskService.countTasksByFilter(withPrefix));
+        assertThrows(RuntimeException.class, () -> taskService.getTaskById(ids.get(0)));
+        assertFalse(taskService.getTaskById(ids.get(3)).isCompleted());
+    }
+
+    @Test
+    void testRejectsRequestsWithoutExactlyOneSelection() {
+        TaskFilterRequest everything = new TaskFilterRequest(null, null, null, null, null, null, null);
+        TaskFilterRequest completed = new TaskFilterRequest(null, null, "true", null, null, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.deleteTasks(new BulkTaskRequest(null, null)));
+        assertThrows(IllegalArgumentException.class, () -> taskService.deleteTasks(new BulkTaskRequest(List.of(1L), completed)));
+        assertThrows(IllegalArgumentException.class, () -> taskService.deleteTasks(new BulkTaskRequest(null, everything)));
+    }
+
+    private List<Long> createTasks(String prefix, int count, boolean critical) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TaskDTO created = taskService.createTask(new TaskRequest(prefix + " " + i, "Description",
+                    LocalDate.now().plusDays(3 + i), critical));
+            ids.add(created.getId());
+        }
+        return ids;
+    }
+}
@@ -1,22 +1,71 @@
 package com.TaskPrioritizationAPI.service;
 
+import com.TaskPrioritizationAPI.cache.TaskCache;
+import com.TaskPrioritizationAPI.changes.TaskChangeFeed;
 import com.TaskPrioritizationAPI.dtos.TaskDTO;
 import com.TaskPrioritizationAPI.exceptions.InvalidTaskDateException;
+import com.TaskPrioritizationAPI.exceptions.TaskAlreadyExistsException;
+import com.TaskPrioritizationAPI.exceptions.TaskNotExistsException;
+import com.TaskPrioritizationAPI.exceptions.TaskVersionMismatchException;
+import com.TaskPrioritizationAPI.idempotency.IdempotencyStore;
+import com.TaskPrioritizationAPI.index.TaskKeyFilter;
+import com.TaskPrioritizationAPI.index.TaskPriorityIndex;
+import com.TaskPrioritizationAPI.index.TaskSearchIndex;
+import com.TaskPrioritizationAPI.mappers.TaskMapper;
+import com.TaskPrioritizationAPI.models.ArchivedTask;
 import com.TaskPrioritizationAPI.models.Priority;
 import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.models.TaskChangeType;
+import com.TaskPrioritizationAPI.payload.request.TaskCursor;
+import com.TaskPrioritizationAPI.payload.request.TaskFilterRequest;
 import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.payload.response.BulkTaskResult;
+import com.TaskPrioritizationAPI.payload.response.TaskFilterPageResponse;
+import com.TaskPrioritizationAPI.payload.response.TaskPageResponse;
+import com.TaskPrioritizationAPI.replicas.ReplicaContext;
+import com.TaskPrioritizationAPI.repositories.ArchivedTaskRepository;
 import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.repositories.projections.TaskKeyView;
+import com.TaskPrioritizationAPI.repositories.specifications.TaskFilterCriteria;
 import com.TaskPrioritizationAPI.services.impl.TaskServiceImpl;
+import com.TaskPrioritizationAPI.services.impl.TaskWriteBehindQueue;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import com.TaskPrioritizationAPI.stats.TaskStatistics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,12 +75,57 @@ class TaskServiceImplTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private TaskPriorityIndex taskPriorityIndex;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskKeyFilter taskKeyFilter;
+
+    @Mock
+    private TaskCache taskCache;
+
+    @Mock
+    private TaskStatistics taskStatistics;
+
+    @Mock
+    private TaskShards taskShards;
+
+    @Mock
+    private TaskChangeFeed taskChangeFeed;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // A single shard that runs the work it is given.
+        when(taskShards.count()).thenReturn(1);
+        when(taskShards.onShard(anyInt(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(taskShards.readEachShard(any())).thenAnswer(invocation -> List.of(invocation.<Supplier<?>>getArgument(0).get()));
+        // The key filter cannot rule anything out, so every duplicate check goes to the repository.
+        when(taskKeyFilter.mightExist(any(), any())).thenReturn(true);
     }
 
     @Test
@@ -39,12 +133,52 @@ class TaskServiceImplTest {
         TaskRequest taskRequest = new TaskRequest("Test Task", "Description", LocalDate.now().plusDays(8), false);
         Task task = new Task(null, "Test Task", "Description", Priority.MEDIUM, LocalDate.now().plusDays(5), false);
         when(taskRepository.save(any(Task.class))).thenReturn(task);
+        runTransactionCallbacks();
 
         TaskDTO result = taskService.createTask(taskRequest);
 
         assertNotNull(result);
         assertEquals("Test Task", result.getTitle());
         assertEquals(Priority.MEDIUM, result.getPriority());
+        verify(taskChangeFeed).record(eq(TaskChangeType.CREATED), argThat(change -> "Test Task".equals(change.getTitle())));
+    }
+
+    @Test
+    void testCreateTaskSkipsDuplicateLookupForKeyTheFilterRulesOut() {
+        TaskRequest taskRequest = new TaskRequest("New Task", "Description", LocalDate.now().plusDays(8), false);
+        when(taskKeyFilter.mightExist("New Task", taskRequest.dueDate())).thenReturn(false);
+        runTransactionCallbacks();
+
+        TaskDTO result = taskService.createTask(taskRequest);
+
+        assertEquals("New Task", result.getTitle());
+        verify(taskRepository, never()).findByTitleAndDueDate(any(), any());
+        verify(taskKeyFilter).put("New Task", taskRequest.dueDate());
+    }
+
+    @Test
+    void testCreateTaskReportsUniqueKeyViolationAsDuplicate() {
+        TaskRequest taskRequest = new TaskRequest("Raced Task", "Description", LocalDate.now().plusDays(8), false);
+        when(taskKeyFilter.mightExist("Raced Task", taskRequest.dueDate())).thenReturn(false);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenThrow(new DataIntegrityViolationException("uk_tasks_title_due_date"));
+        runTransactionCallbacks();
+
+        assertThrows(TaskAlreadyExistsException.class, () -> taskService.createTask(taskRequest));
+        verify(taskKeyFilter).recordMissed();
+        verify(taskPriorityIndex, never()).put(any(Task.class));
+    }
+
+    @Test
+    void testCreateTaskReplaysResponseForKnownIdempotencyKey() {
+        TaskRequest taskRequest = new TaskRequest("Retried Task", "Description", LocalDate.now().plusDays(8), false);
+        TaskDTO original = new TaskDTO(7L, "Retried Task", "Description", Priority.MEDIUM, taskRequest.dueDate(), false);
+        when(idempotencyStore.find("retry-1", taskRequest)).thenReturn(original);
+
+        TaskDTO result = taskService.createTask(taskRequest, "retry-1");
+
+        assertSame(original, result);
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+        verify(taskStatistics, never()).recordCreated(any(TaskDTO.class));
     }
 
     @Test
@@ -54,53 +188,298 @@ class TaskServiceImplTest {
         assertThrows(InvalidTaskDateException.class, () -> taskService.createTask(taskRequest));
     }
 
+    @Test
+    void testCreateTasksReportsDuplicatesPerItem() {
+        LocalDate dueDate = LocalDate.now().plusDays(30);
+        TaskKeyView existing = mock(TaskKeyView.class);
+        when(existing.getTitle()).thenReturn("Existing");
+        when(existing.getDueDate()).thenReturn(dueDate);
+        when(taskRepository.findKeysByTitleInAndDueDateIn(anyCollection(), anyCollection())).thenReturn(List.of(existing));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        List<TaskRequest> requests = List.of(
+                new TaskRequest("New", "Description", dueDate, false),
+                new TaskRequest("Existing", "Description", dueDate, false),
+                new TaskRequest("New", "Description", dueDate, false),
+                new TaskRequest("Past", "Description", LocalDate.now().minusDays(1), false));
+
+        List<BulkTaskResult> results = taskService.createTasks(requests.iterator());
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).success());
+        assertFalse(results.get(1).success());
+        assertFalse(results.get(2).success());
+        assertFalse(results.get(3).success());
+        assertEquals(3, results.get(3).index());
+        verify(taskRepository, times(1)).saveAll(anyIterable());
+        verify(taskPriorityIndex, times(1)).put(any(Task.class));
+        verify(taskRepository, never()).findByTitleAndDueDate(any(), any());
+    }
+
     @Test
     void testGetTasksSortedByDate() {
-        Task task1 = new Task(null, "Task 1", "Description", Priority.MEDIUM, LocalDate.now().plusDays(9), false);
-        Task task2 = new Task(null, "Task 2", "Description", Priority.HIGH, LocalDate.now().plusDays(3), false);
-        List<Task> tasks = new ArrayList<>();
-        tasks.add(task1);
-        tasks.add(task2);
-        when(taskRepository.findAll()).thenReturn(tasks);
+        TaskDTO task1 = new TaskDTO(1L, "Task 1", "Description", Priority.MEDIUM, LocalDate.now().plusDays(9), false);
+        TaskDTO task2 = new TaskDTO(2L, "Task 2", "Description", Priority.HIGH, LocalDate.now().plusDays(3), false);
+        when(taskRepository.findPageByDueDate(any(Pageable.class))).thenReturn(List.of(task2, task1));
 
-        List<TaskDTO> sortedTasks = taskService.getTasksSorted("date");
+        TaskPageResponse sortedTasks = taskService.getTasksSorted("date", null, null);
 
-        assertEquals(2, sortedTasks.size());
-        assertEquals("Task 2", sortedTasks.get(0).getTitle());
+        assertEquals(2, sortedTasks.tasks().size());
+        assertEquals("Task 2", sortedTasks.tasks().get(0).getTitle());
+        assertNull(sortedTasks.nextCursor());
+    }
+
+    @Test
+    void testGetTasksSortedByPriorityContinuesFromCursor() {
+        TaskDTO high = new TaskDTO(1L, "High", "Description", Priority.HIGH, LocalDate.now().plusDays(3), false);
+        TaskDTO medium = new TaskDTO(2L, "Medium", "Description", Priority.MEDIUM, LocalDate.now().plusDays(9), false);
+        TaskDTO low = new TaskDTO(3L, "Low", "Description", Priority.LOW, LocalDate.now().plusDays(30), false);
+        when(taskRepository.findPageByPriority(eq(Priority.HIGH), any(Pageable.class))).thenReturn(List.of(high));
+        when(taskRepository.findPageByPriority(eq(Priority.MEDIUM), any(Pageable.class))).thenReturn(List.of(medium));
+        when(taskRepository.findPageByPriorityAfter(eq(Priority.MEDIUM), eq(medium.getDueDate()), eq(2L), any(Pageable.class))).thenReturn(List.of());
+        when(taskRepository.findPageByPriority(eq(Priority.LOW), any(Pageable.class))).thenReturn(List.of(low));
+
+        TaskPageResponse firstPage = taskService.getTasksSorted("priority", null, 2);
+        TaskPageResponse secondPage = taskService.getTasksSorted("priority", firstPage.nextCursor(), 2);
+
+        assertEquals(List.of("High", "Medium"), firstPage.tasks().stream().map(TaskDTO::getTitle).toList());
+        assertNotNull(firstPage.nextCursor());
+        assertEquals(List.of("Low"), secondPage.tasks().stream().map(TaskDTO::getTitle).toList());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    void testGetTasksSortedRejectsCursorFromOtherSort() {
+        String cursor = new TaskCursor("date", Priority.HIGH, LocalDate.now(), 1L).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksSorted("priority", cursor, null));
+    }
+
+    @Test
+    void testGetTasksSortedRejectsPriorityCursorWithoutPriority() {
+        String cursor = new TaskCursor("priority", null, LocalDate.now(), 1L).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksSorted("priority", cursor, null));
+    }
+
+    @Test
+    void testConcurrentIdenticalSortedReadsShareOneQuery() throws Exception {
+        TaskDTO task = new TaskDTO(1L, "Task 1", "Description", Priority.MEDIUM, LocalDate.now().plusDays(9), false);
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskRepository.findPageByDueDate(any(Pageable.class))).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(task);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<TaskPageResponse> first = executor.submit(() -> taskService.getTasksSorted("date", null, 10));
+            assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+            Future<TaskPageResponse> second = executor.submit(() -> taskService.getTasksSorted("date", null, 10));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (meterRegistry.counter("task.reads.coalesced", "query", "sort").count() < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(taskRepository, times(1)).findPageByDueDate(any(Pageable.class));
+        assertEquals(1.0, meterRegistry.counter("task.reads.coalesced", "query", "sort").count());
     }
 
     @Test
     void testGetTasksByFilterByCompleted() {
-        Task task1 = new Task(null, "Task 1", "Description", Priority.MEDIUM, LocalDate.now().plusDays(5), true);
-        when(taskRepository.findByIsCompleted(true)).thenReturn(List.of(task1));
+        TaskDTO task1 = new TaskDTO(1L, "Task 1", "Description", Priority.LOW, LocalDate.now().plusDays(5), true);
+        when(taskRepository.findDTOs(any(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(task1)));
+
+        TaskFilterPageResponse completedTasks = taskService.getTasksByFilter(
+                new TaskFilterRequest("completed", "true", null, null, null, null, null), null, null);
+
+        assertEquals(1, completedTasks.tasks().size());
+        assertEquals("Task 1", completedTasks.tasks().get(0).getTitle());
+        verify(taskCache).putFilterPage(eq(new TaskFilterCriteria(true, null, null, null, null)), anyLong(), eq(0), anyInt(), eq(completedTasks));
+    }
 
-        List<TaskDTO> completedTasks = taskService.getTasksByFilter("completed", "true");
+    @Test
+    void testGetTasksByFilterRejectsInvalidPriority() {
+        TaskFilterRequest filterRequest = new TaskFilterRequest(null, null, null, "urgent", null, null, null);
 
-        assertEquals(1, completedTasks.size());
-        assertEquals("Task 1", completedTasks.get(0).getTitle());
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksByFilter(filterRequest, null, null));
+    }
+
+    @Test
+    void testCountTasksByFilterCombinesPredicates() {
+        when(taskCache.getFilterCount(any())).thenReturn(null);
+        when(taskRepository.count(any(Specification.class))).thenReturn(7L);
+
+        long count = taskService.countTasksByFilter(
+                new TaskFilterRequest(null, null, "false", "high", null, LocalDate.now().plusDays(7), "Rel"));
+
+        assertEquals(7L, count);
+        verify(taskCache).putFilterCount(eq(new TaskFilterCriteria(false, Priority.HIGH, null, LocalDate.now().plusDays(7), "Rel")), anyLong(), eq(7L));
     }
 
     @Test
     void testUpdateTaskValidRequest() {
         Task existingTask = new Task(null, "Old Title", "Old Description", Priority.LOW, LocalDate.now().plusDays(10), false);
         existingTask.setId(1L);
-        TaskDTO updateRequest = new TaskDTO("New Title", "New Description", Priority.HIGH, LocalDate.now().plusDays(15), false);
+        TaskDTO updateRequest = new TaskDTO(null, "New Title", "New Description", Priority.HIGH, LocalDate.now().plusDays(15), false);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(existingTask));
-        when(taskRepository.save(any(Task.class))).thenReturn(existingTask);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(existingTask);
+        runTransactionCallbacks();
 
         TaskDTO updatedTask = taskService.updateTask(1L, updateRequest);
 
         assertEquals("New Title", updatedTask.getTitle());
         assertEquals(Priority.HIGH, updatedTask.getPriority());
+        verify(taskStatistics).recordUpdated(argThat(previous -> previous.getPriority() == Priority.LOW), eq(updatedTask));
+    }
+
+    @Test
+    void testUpdateTaskRetriesAfterConcurrentModification() {
+        Task existingTask = new Task(1L, "Title", "Description", Priority.LOW, LocalDate.now().plusDays(30), false);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(existingTask));
+        when(taskRepository.saveAndFlush(any(Task.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L))
+                .thenReturn(existingTask);
+        runTransactionCallbacks();
+        TaskDTO updateRequest = new TaskDTO();
+        updateRequest.setDescription("New Description");
+
+        TaskDTO updatedTask = taskService.updateTask(1L, updateRequest);
+
+        assertEquals("New Description", updatedTask.getDescription());
+        verify(taskRepository, times(2)).findById(1L);
+        assertEquals(1.0, meterRegistry.counter("task.update.conflicts").count());
+    }
+
+    @Test
+    void testUpdateTaskRejectsStaleIfMatchVersion() {
+        Task existingTask = new Task(1L, "Title", "Description", Priority.LOW, LocalDate.now().plusDays(30), false, 4L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(existingTask));
+        runTransactionCallbacks();
+        TaskDTO updateRequest = new TaskDTO();
+        updateRequest.setDescription("New Description");
+
+        assertThrows(TaskVersionMismatchException.class, () -> taskService.updateTask(1L, updateRequest, 3L));
+        verify(taskRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void testDeleteTaskWhenTaskExists() {
-        when(taskRepository.existsById(1L)).thenReturn(true);
+        Task task = new Task(1L, "Task to Delete", "Description", Priority.HIGH, LocalDate.now().plusDays(5), false);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        runTransactionCallbacks();
 
         taskService.deleteTask(1L);
 
-        verify(taskRepository, times(1)).deleteById(1L);
+        verify(taskRepository, times(1)).findById(1L);
+        verify(taskRepository, times(1)).delete(task);
+        verify(taskRepository, never()).existsById(any());
+        verify(taskChangeFeed).record(eq(TaskChangeType.DELETED), argThat(change -> change.getId() == 1L));
+        verify(taskPriorityIndex, times(1)).remove(1L);
+        verify(taskCache, times(1)).evict(eq(1L), any(TaskDTO.class));
+        verify(taskStatistics, times(1)).recordDeleted(any(TaskDTO.class));
+    }
+
+    @Test
+    void testDeleteTaskWithPendingUpdatesEvictsStoredAndPendingState() {
+        TaskWriteBehindQueue queue = mock(TaskWriteBehindQueue.class);
+        ReflectionTestUtils.setField(taskService, "taskWriteBehindQueue", queue);
+        Task stored = new Task(1L, "Task", "Description", Priority.HIGH, LocalDate.now().plusDays(2), false);
+        Task pending = new Task(1L, "Task", "Description", Priority.LOW, LocalDate.now().plusDays(2), true);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(queue.discard(1L)).thenReturn(pending);
+        runTransactionCallbacks();
+
+        taskService.deleteTask(1L);
+
+        InOrder inOrder = inOrder(transactionTemplate, queue);
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(queue).discard(1L);
+        verify(taskCache).evict(eq(1L),
+                argThat(state -> state.getPriority() == Priority.HIGH && !state.getIsCompleted()),
+                argThat(state -> state.getPriority() == Priority.LOW && state.getIsCompleted()));
+        verify(taskStatistics).recordDeleted(argThat(state -> state.getIsCompleted()));
+    }
+
+    @Test
+    void testFailedDeleteKeepsPendingUpdates() {
+        TaskWriteBehindQueue queue = mock(TaskWriteBehindQueue.class);
+        ReflectionTestUtils.setField(taskService, "taskWriteBehindQueue", queue);
+        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+        runTransactionCallbacks();
+
+        assertThrows(TaskNotExistsException.class, () -> taskService.deleteTask(1L));
+
+        verify(queue, never()).discard(any());
+    }
+
+    @Test
+    void testExportWritesOneLinePerTaskAndDetachesEachAsItIsRead() throws Exception {
+        List<Task> tasks = List.of(
+                new Task(1L, "First", "Description", Priority.HIGH, LocalDate.now().plusDays(1), false),
+                new Task(2L, "Second", "Description", Priority.MEDIUM, LocalDate.now().plusDays(10), false),
+                new Task(3L, "Third", "Description", Priority.LOW, LocalDate.now().plusDays(30), true));
+        List<Integer> detachedBeforeRead = new ArrayList<>();
+        when(taskRepository.streamAllByOrderByIdAsc()).thenAnswer(invocation -> tasks.stream()
+                .peek(task -> detachedBeforeRead.add(mockingDetails(entityManager).getInvocations().size())));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        taskService.exportTasks(output);
+
+        String body = output.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode line = objectMapper.readTree(lines[i]);
+            assertEquals(tasks.get(i).getId().longValue(), line.get("id").asLong());
+            assertEquals(tasks.get(i).getTitle(), line.get("title").asText());
+        }
+        // Each task is detached before the next one is read, so the persistence context never grows.
+        assertEquals(List.of(0, 1, 2), detachedBeforeRead);
+        tasks.forEach(task -> verify(entityManager).detach(task));
+    }
+
+    @Test
+    void testGetTaskByIdServedFromCache() {
+        TaskDTO cached = new TaskDTO(1L, "Cached", "Description", Priority.MEDIUM, LocalDate.now().plusDays(5), false, 2L);
+        when(taskCache.getTask(1L)).thenReturn(cached);
+
+        Task result = taskService.getTaskById(1L);
+        result.setTitle("Changed by the caller");
+
+        assertEquals(1L, result.getId());
+        assertEquals(2L, result.getVersion());
+        assertEquals("Cached", cached.getTitle());
+        verify(taskRepository, never()).findById(any());
+    }
+
+    @Test
+    void testClientPinnedToThePrimaryNeverReadsWhatAStaleReplicaReturned() {
+        TaskCache cache = new TaskCache(100, Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(taskService, "taskCache", cache);
+        Task beforeWrite = new Task(1L, "Before", "Description", Priority.LOW, LocalDate.now().plusDays(30), false, 1L);
+        Task afterWrite = new Task(1L, "After", "Description", Priority.LOW, LocalDate.now().plusDays(30), false, 2L);
+        // The replica has not replicated the write yet; the primary has.
+        when(taskRepository.findById(1L)).thenAnswer(invocation ->
+                Optional.of(ReplicaContext.isReplicaReadAllowed() ? beforeWrite : afterWrite));
+        cache.evict(1L, TaskMapper.toDTO(beforeWrite), TaskMapper.toDTO(afterWrite));
+
+        try {
+            ReplicaContext.allowReplicaReads();
+            assertEquals("Before", taskService.getTaskById(1L).getTitle());
+        } finally {
+            ReplicaContext.clear();
+        }
+        // The writer is pinned to the primary for the read-your-writes window.
+        assertEquals("After", taskService.getTaskById(1L).getTitle());
+        assertEquals("After", cache.getTask(1L).getTitle());
     }
 
     @Test
@@ -114,6 +493,20 @@ class TaskServiceImplTest {
         assertNotNull(result);
         assertEquals("Task to Find", result.getTitle());
         verify(taskRepository, times(1)).findById(1L);
+        verify(taskCache).putTask(argThat(dto -> dto.getId() == 1L && dto.getTitle().equals("Task to Find")), anyLong());
+    }
+
+    @Test
+    void testGetTaskByIdFallsBackToTheArchive() {
+        ArchivedTask archived = new ArchivedTask(7L, "Archived", "Description", Priority.LOW, LocalDate.now().minusDays(200), true, 3L, null);
+        when(taskRepository.findById(7L)).thenReturn(Optional.empty());
+        when(archivedTaskRepository.findById(7L)).thenReturn(Optional.of(archived));
+
+        Task result = taskService.getTaskById(7L);
+
+        assertEquals("Archived", result.getTitle());
+        assertTrue(result.isCompleted());
+        assertEquals(3L, result.getVersion());
     }
 
     @Test
@@ -127,5 +520,9 @@ class TaskServiceImplTest {
         assertEquals(2, tasks.size());
         verify(taskRepository, times(1)).findAll();
     }
-}
 
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+}
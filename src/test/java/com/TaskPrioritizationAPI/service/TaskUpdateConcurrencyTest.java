@@ -0,0 +1,130 @@
+package com.TaskPrioritizationAPI.service;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.exceptions.TaskUpdateConflictException;
+import com.TaskPrioritizationAPI.exceptions.TaskVersionMismatchException;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.services.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 64 writers patching one task at the same time, against the embedded H2 database.
+ * Every acknowledged update must be visible in the final row, and the run reports its throughput.
+ */
+@SpringBootTest(properties = "task.cache.max-size=0")
+@ActiveProfiles("h2")
+class TaskUpdateConcurrencyTest {
+
+    private static final int WRITERS = 64;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void testConcurrentPatchesWithoutIfMatchAreNeverLost() throws Exception {
+        int updatesPerWriter = 10;
+        TaskDTO task = createHotTask();
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        long elapsedNanos = runWriters(writer -> {
+            for (int i = 0; i < updatesPerWriter; i++) {
+                TaskDTO patch = new TaskDTO();
+                patch.setDescription("writer " + writer + " update " + i);
+                try {
+                    taskService.updateTask(task.getId(), patch);
+                    applied.incrementAndGet();
+                } catch (TaskUpdateConflictException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        Task stored = taskService.getTaskById(task.getId());
+        assertEquals(WRITERS * updatesPerWriter, applied.get() + rejected.get());
+        // Each acknowledged update produced exactly one new version; none was overwritten unseen.
+        assertEquals(task.getVersion() + applied.get(), stored.getVersion());
+        report("retry in service", applied.get(), rejected.get(), elapsedNanos);
+    }
+
+    @Test
+    void testReadModifyWriteWithIfMatchLosesNoIncrement() throws Exception {
+        int updatesPerWriter = 3;
+        TaskDTO task = createHotTask();
+        AtomicInteger preconditionFailures = new AtomicInteger();
+
+        long elapsedNanos = runWriters(writer -> {
+            for (int i = 0; i < updatesPerWriter; i++) {
+                while (true) {
+                    Task current = taskService.getTaskById(task.getId());
+                    TaskDTO patch = new TaskDTO();
+                    patch.setDescription(current.getDescription() + "+");
+                    try {
+                        taskService.updateTask(task.getId(), patch, current.getVersion());
+                        break;
+                    } catch (TaskVersionMismatchException e) {
+                        preconditionFailures.incrementAndGet();
+                    }
+                }
+            }
+        });
+
+        Task stored = taskService.getTaskById(task.getId());
+        assertEquals(WRITERS * updatesPerWriter, stored.getDescription().length());
+        report("If-Match read-modify-write", WRITERS * updatesPerWriter, preconditionFailures.get(), elapsedNanos);
+    }
+
+    private TaskDTO createHotTask() {
+        return taskService.createTask(new TaskRequest("Hot task " + System.nanoTime(), "", LocalDate.now().plusDays(30), false));
+    }
+
+    private static long runWriters(Writer writer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < WRITERS; i++) {
+                int writerId = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    writer.run(writerId);
+                    return null;
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - started;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void report(String mode, int applied, int conflicts, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%s: %d writers, %d updates applied, %d conflicts, %.0f ms, %.0f updates/s%n",
+                mode, WRITERS, applied, conflicts, seconds * 1000, applied / seconds);
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void run(int writerId) throws Exception;
+    }
+}
@@ -0,0 +1,152 @@
+package com.TaskPrioritizationAPI.service;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.models.Task;
+import com.TaskPrioritizationAPI.payload.request.TaskRequest;
+import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.services.TaskService;
+import com.TaskPrioritizationAPI.services.impl.TaskWriteBehindQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Write-behind against the embedded H2 database. The flush interval is long, so only explicit
+ * flush() calls write to the database.
+ */
+@SpringBootTest(properties = {
+        "task.write-behind.enabled=true",
+        "task.write-behind.batch-size=10000",
+        "task.write-behind.flush-interval=1h"
+})
+@ActiveProfiles("h2")
+class TaskWriteBehindQueueTest {
+
+    @TempDir
+    static Path journalDir;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("task.write-behind.journal-dir", () -> journalDir.toString());
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskWriteBehindQueue taskWriteBehindQueue;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testMassCompletionIsReadableBeforeFlushAndWrittenInOneFlush() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ids.add(createTask("Mass completion " + i).getId());
+        }
+        long flushesBefore = meterRegistry.timer("task.write-behind.flush").count();
+
+        for (Long id : ids) {
+            TaskDTO patch = new TaskDTO();
+            patch.setIsCompleted(true);
+            TaskDTO acknowledged = taskService.updateTask(id, patch);
+            assertEquals(1L, acknowledged.getVersion());
+        }
+
+        assertEquals(200, taskWriteBehindQueue.depth());
+        assertEquals(200, journalLines());
+        for (Long id : ids) {
+            assertTrue(taskService.getTaskById(id).isCompleted());
+            assertFalse(taskRepository.findById(id).orElseThrow().isCompleted());
+        }
+
+        taskWriteBehindQueue.flush();
+
+        assertEquals(0, taskWriteBehindQueue.depth());
+        assertEquals(0, journalLines());
+        assertEquals(flushesBefore + 1, meterRegistry.timer("task.write-behind.flush").count());
+        for (Long id : ids) {
+            Task stored = taskRepository.findById(id).orElseThrow();
+            assertTrue(stored.isCompleted());
+            assertEquals(Priority.LOW, stored.getPriority());
+            assertEquals(1L, stored.getVersion());
+        }
+    }
+
+    @Test
+    void testUpdatesToTheSameTaskAreMergedIntoOneWrite() {
+        Long id = createTask("Merged updates").getId();
+
+        TaskDTO rename = new TaskDTO();
+        rename.setTitle("Merged updates, renamed");
+        taskService.updateTask(id, rename);
+        TaskDTO describe = new TaskDTO();
+        describe.setDescription("Second patch");
+        TaskDTO acknowledged = taskService.updateTask(id, describe, 1L);
+
+        assertEquals(2L, acknowledged.getVersion());
+        assertEquals(1, taskWriteBehindQueue.depth());
+
+        taskWriteBehindQueue.flush();
+
+        Task stored = taskRepository.findById(id).orElseThrow();
+        assertEquals("Merged updates, renamed", stored.getTitle());
+        assertEquals("Second patch", stored.getDescription());
+        assertEquals(2L, stored.getVersion());
+    }
+
+    @Test
+    void testPatchesAreReappliedWhenTheRowChangedBeforeFlush() {
+        Long id = createTask("Changed before flush").getId();
+        TaskDTO patch = new TaskDTO();
+        patch.setDescription("Queued description");
+        taskService.updateTask(id, patch);
+
+        // The re-prioritization job bumps the version behind the queue's back.
+        transactionTemplate.execute(status -> taskRepository.updatePriority(List.of(id), Priority.HIGH));
+        taskWriteBehindQueue.flush();
+
+        Task stored = taskRepository.findById(id).orElseThrow();
+        assertEquals("Queued description", stored.getDescription());
+        assertEquals(Priority.HIGH, stored.getPriority());
+        assertEquals(2L, stored.getVersion());
+    }
+
+    private TaskDTO createTask(String title) {
+        return taskService.createTask(new TaskRequest(title + " " + System.nanoTime(), "", LocalDate.now().plusDays(30), false));
+    }
+
+    private static long journalLines() throws IOException {
+        long lines = 0;
+        try (Stream<Path> segments = Files.list(journalDir)) {
+            for (Path segment : segments.toList()) {
+                lines += Files.readAllLines(segment).size();
+            }
+        }
+        return lines;
+    }
+}
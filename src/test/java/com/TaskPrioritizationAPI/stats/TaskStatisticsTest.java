@@ -0,0 +1,134 @@
+package com.TaskPrioritizationAPI.stats;
+
+import com.TaskPrioritizationAPI.dtos.TaskDTO;
+import com.TaskPrioritizationAPI.models.Priority;
+import com.TaskPrioritizationAPI.payload.response.TaskStatsResponse;
+import com.TaskPrioritizationAPI.repositories.TaskRepository;
+import com.TaskPrioritizationAPI.repositories.projections.TaskCountView;
+import com.TaskPrioritizationAPI.sharding.TaskShards;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskStatisticsTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskShards taskShards;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private TaskStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(taskShards.readEachShard(any())).thenAnswer(invocation -> List.of(invocation.<Supplier<?>>getArgument(0).get()));
+    }
+
+    @Test
+    void testCountersFollowCreateUpdateAndDelete() {
+        TaskDTO open = new TaskDTO(1L, "Task", "Description", Priority.HIGH, LocalDate.now().plusDays(2), false);
+        TaskDTO completed = new TaskDTO(1L, "Task", "Description", Priority.LOW, LocalDate.now().plusDays(2), true);
+        TaskDTO other = new TaskDTO(2L, "Other", "Description", Priority.MEDIUM, LocalDate.now().plusDays(10), false);
+
+        statistics.recordCreated(open);
+        statistics.recordCreated(other);
+        statistics.recordUpdated(open, completed);
+        statistics.recordDeleted(other);
+
+        TaskStatsResponse stats = statistics.snapshot();
+        assertEquals(0L, stats.openByPriority().get(Priority.HIGH));
+        assertEquals(0L, stats.openByPriority().get(Priority.MEDIUM));
+        assertEquals(1L, stats.completedByPriority().get(Priority.LOW));
+        assertEquals(0L, stats.open());
+        assertEquals(1L, stats.completed());
+        assertEquals(0L, stats.overdue());
+    }
+
+    @Test
+    void testCompletingAnOverdueTaskLowersTheOverdueCount() {
+        TaskDTO overdue = new TaskDTO(1L, "Late", "Description", Priority.HIGH, LocalDate.now().minusDays(3), false);
+        TaskDTO done = new TaskDTO(1L, "Late", "Description", Priority.LOW, LocalDate.now().minusDays(3), true);
+
+        statistics.recordCreated(overdue);
+        assertEquals(1L, statistics.snapshot().overdue());
+
+        statistics.recordUpdated(overdue, done);
+        assertEquals(0L, statistics.snapshot().overdue());
+    }
+
+    @Test
+    void testReconcileCorrectsDriftFromGroupByCounts() {
+        statistics.recordCreated(new TaskDTO(1L, "Task", "Description", Priority.HIGH, LocalDate.now().plusDays(2), false));
+        when(taskRepository.countByPriorityAndCompleted()).thenReturn(List.of(
+                countView(Priority.HIGH, false, 5),
+                countView(Priority.LOW, true, 7)));
+        when(taskRepository.countOverdue(LocalDate.now())).thenReturn(2L);
+
+        statistics.reconcile();
+
+        TaskStatsResponse stats = statistics.snapshot();
+        assertEquals(5L, stats.openByPriority().get(Priority.HIGH));
+        assertEquals(7L, stats.completedByPriority().get(Priority.LOW));
+        assertEquals(12L, stats.open() + stats.completed());
+        assertEquals(2L, stats.overdue());
+        assertNotNull(stats.reconciledAt());
+        assertEquals(13.0, meterRegistry.counter("task.stats.drift").count());
+    }
+
+    @Test
+    void testReconcileSumsTheCountsOfEveryShard() {
+        // doAnswer, because when(...) would call the setUp answer with a null supplier while re-stubbing.
+        doAnswer(invocation -> {
+            Supplier<?> query = invocation.getArgument(0);
+            return List.of(query.get(), query.get());
+        }).when(taskShards).readEachShard(any());
+        when(taskRepository.countByPriorityAndCompleted()).thenReturn(
+                List.of(countView(Priority.MEDIUM, false, 3)),
+                List.of(countView(Priority.MEDIUM, false, 4), countView(Priority.HIGH, true, 1)));
+        when(taskRepository.countOverdue(LocalDate.now())).thenReturn(1L, 2L);
+
+        statistics.reconcile();
+
+        TaskStatsResponse stats = statistics.snapshot();
+        assertEquals(7L, stats.openByPriority().get(Priority.MEDIUM));
+        assertEquals(1L, stats.completedByPriority().get(Priority.HIGH));
+        assertEquals(3L, stats.overdue());
+    }
+
+    private static TaskCountView countView(Priority priority, boolean completed, long total) {
+        return new TaskCountView() {
+            @Override
+            public Priority getPriority() {
+                return priority;
+            }
+
+            @Override
+            public boolean getCompleted() {
+                return completed;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+}
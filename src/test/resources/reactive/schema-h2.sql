@@ -0,0 +1,17 @@
+CREATE SEQUENCE IF NOT EXISTS task_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    title        VARCHAR(255),
+    description  VARCHAR(255),
+    priority     VARCHAR(255),
+    due_date     DATE,
+    is_completed BOOLEAN      NOT NULL,
+    version      BIGINT       NOT NULL DEFAULT 0,
+    tenant_id    VARCHAR(255),
+    CONSTRAINT uk_tasks_title_due_date UNIQUE (title, due_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_priority_due_date_id ON tasks (priority, due_date, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date_id ON tasks (due_date, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_completed_priority_due_date ON tasks (is_completed, priority, due_date);